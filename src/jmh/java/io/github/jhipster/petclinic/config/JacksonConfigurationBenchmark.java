@@ -0,0 +1,96 @@
+package io.github.jhipster.petclinic.config;
+
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the JSON serialization of the domain entities, with the modules of {@link JacksonConfiguration}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonConfigurationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private List<Owner> owners;
+
+    private List<Pet> pets;
+
+    private List<Visit> visits;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .modules(
+                jacksonConfiguration.javaTimeModule(),
+                jacksonConfiguration.jdk8TimeModule(),
+                jacksonConfiguration.hibernate5Module(),
+                jacksonConfiguration.afterburnerModule(),
+                jacksonConfiguration.problemModule(),
+                jacksonConfiguration.constraintViolationProblemModule())
+            .build();
+
+        owners = new ArrayList<>();
+        pets = new ArrayList<>();
+        visits = new ArrayList<>();
+        long id = 0;
+        for (int i = 0; i < 20; i++) {
+            Owner owner = new Owner()
+                .firstName("George")
+                .lastName("Franklin")
+                .address("110 W. Liberty St.")
+                .city("Madison")
+                .telephone("6085551023");
+            owner.setId(++id);
+            owners.add(owner);
+            for (int j = 0; j < 2; j++) {
+                Pet pet = new Pet()
+                    .name("Leo")
+                    .birthDate(LocalDate.of(2010, 9, 7))
+                    .type(PetType.CAT);
+                pet.setId(++id);
+                owner.addPet(pet);
+                pets.add(pet);
+                for (int k = 0; k < 3; k++) {
+                    Visit visit = new Visit()
+                        .date(LocalDate.of(2013, 1, 1).plusMonths(k))
+                        .description("rabies shot");
+                    visit.setId(++id);
+                    pet.addVisit(visit);
+                    visits.add(visit);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOwners() throws Exception {
+        return objectMapper.writeValueAsBytes(owners);
+    }
+
+    @Benchmark
+    public byte[] serializePetsWithVisits() throws Exception {
+        return objectMapper.writeValueAsBytes(pets);
+    }
+
+    @Benchmark
+    public byte[] serializeVisits() throws Exception {
+        return objectMapper.writeValueAsBytes(visits);
+    }
+}
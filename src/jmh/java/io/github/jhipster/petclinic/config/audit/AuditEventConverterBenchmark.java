@@ -0,0 +1,49 @@
+package io.github.jhipster.petclinic.config.audit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link AuditEventConverter}, which runs on every authentication event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuditEventConverterBenchmark {
+
+    private AuditEventConverter auditEventConverter;
+
+    private Map<String, Object> authenticationSuccessData;
+
+    private Map<String, Object> authenticationFailureData;
+
+    @Setup
+    public void setup() {
+        auditEventConverter = new AuditEventConverter();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("192.168.0.10");
+        authenticationSuccessData = new HashMap<>();
+        authenticationSuccessData.put("details", new WebAuthenticationDetails(request));
+        authenticationFailureData = new HashMap<>();
+        authenticationFailureData.put("type", "org.springframework.security.authentication.BadCredentialsException");
+        authenticationFailureData.put("message", "Bad credentials");
+    }
+
+    @Benchmark
+    public Map<String, String> convertAuthenticationSuccess() {
+        return auditEventConverter.convertDataToStrings(authenticationSuccessData);
+    }
+
+    @Benchmark
+    public Map<String, String> convertAuthenticationFailure() {
+        return auditEventConverter.convertDataToStrings(authenticationFailureData);
+    }
+}
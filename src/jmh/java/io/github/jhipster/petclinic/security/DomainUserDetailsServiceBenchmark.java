@@ -0,0 +1,84 @@
+package io.github.jhipster.petclinic.security;
+
+import io.github.jhipster.petclinic.domain.Authority;
+import io.github.jhipster.petclinic.domain.User;
+import io.github.jhipster.petclinic.repository.UserRepository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link DomainUserDetailsService}, which runs on every login.
+ * <p>
+ * The {@link UserRepository} is an in-memory map of {@value #USERS} users, so the service itself is measured, and
+ * not the database nor the call recording of a mock.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainUserDetailsServiceBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private DomainUserDetailsService domainUserDetailsService;
+
+    @Setup
+    public void setup() {
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        Authority adminAuthority = new Authority();
+        adminAuthority.setName(AuthoritiesConstants.ADMIN);
+        Map<String, User> usersByLogin = new HashMap<>();
+        Map<String, User> usersByEmail = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setLogin(i == 0 ? "admin" : "user-" + i);
+            user.setEmail(user.getLogin() + "@localhost");
+            user.setPassword("$2a$10$gSAhZrxMllrbgj/kkK9UceBPpChGWJA7SYIb1Mqo.n5aNLq1/oRrC");
+            user.setActivated(true);
+            user.setAuthorities(new HashSet<>(i == 0 ? Arrays.asList(userAuthority, adminAuthority) : Arrays.asList(userAuthority)));
+            usersByLogin.put(user.getLogin(), user);
+            usersByEmail.put(user.getEmail(), user);
+        }
+        domainUserDetailsService = new DomainUserDetailsService(inMemoryUserRepository(usersByLogin, usersByEmail));
+    }
+
+    /**
+     * A repository only implementing the lookups of the users by login and by email.
+     */
+    private static UserRepository inMemoryUserRepository(Map<String, User> usersByLogin, Map<String, User> usersByEmail) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(), new Class<?>[] {UserRepository.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "findOneWithAuthoritiesByLogin":
+                        return Optional.ofNullable(usersByLogin.get((String) args[0]));
+                    case "findOneWithAuthoritiesByEmailIgnoreCase":
+                        return Optional.ofNullable(usersByEmail.get(((String) args[0]).toLowerCase(Locale.ROOT)));
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    @Benchmark
+    public UserDetails loadUserByLogin() {
+        return domainUserDetailsService.loadUserByUsername("Admin");
+    }
+
+    @Benchmark
+    public UserDetails loadUserByEmail() {
+        return domainUserDetailsService.loadUserByUsername("admin@localhost");
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.jhipster.petclinic.security.jwt;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link TokenProvider}, which runs on every authenticated API call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenProviderBenchmark {
+
+    private TokenProvider tokenProvider;
+
+    private TokenProvider uncachedTokenProvider;
+
+    private Authentication authentication;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt()
+            .setBase64Secret("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8");
+        tokenProvider = new TokenProvider(jHipsterProperties, new ApplicationProperties(), new SimpleMeterRegistry());
+        tokenProvider.init();
+        ApplicationProperties uncachedProperties = new ApplicationProperties();
+        uncachedProperties.getSecurity().getJwtCache().setMaxEntries(0);
+        uncachedTokenProvider = new TokenProvider(jHipsterProperties, uncachedProperties, new SimpleMeterRegistry());
+        uncachedTokenProvider.init();
+
+        authentication = new UsernamePasswordAuthenticationToken("user", "user", Arrays.asList(
+            new SimpleGrantedAuthority(AuthoritiesConstants.USER),
+            new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+        token = tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> getValidAuthenticationCached() {
+        return tokenProvider.getValidAuthentication(token);
+    }
+
+    @Benchmark
+    public Optional<Authentication> getValidAuthenticationUncached() {
+        return uncachedTokenProvider.getValidAuthentication(token);
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Authority;
+import io.github.jhipster.petclinic.domain.User;
+import io.github.jhipster.petclinic.security.AuthoritiesConstants;
+import io.github.jhipster.petclinic.service.dto.UserDTO;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link UserMapper}, used by the pages of the user management.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        userMapper = new UserMapper();
+        Authority userAuthority = new Authority();
+        userAuthority.setName(AuthoritiesConstants.USER);
+        Authority adminAuthority = new Authority();
+        adminAuthority.setName(AuthoritiesConstants.ADMIN);
+        users = new ArrayList<>();
+        for (long i = 0; i < pageSize; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setLogin("user" + i);
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setEmail("user" + i + "@localhost");
+            user.setActivated(true);
+            user.setLangKey("en");
+            user.setCreatedBy("system");
+            user.setCreatedDate(Instant.now());
+            user.setAuthorities(new HashSet<>(Arrays.asList(userAuthority, adminAuthority)));
+            users.add(user);
+        }
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}
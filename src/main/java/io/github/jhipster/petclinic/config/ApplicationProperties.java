@@ -1,6 +1,11 @@
 package io.github.jhipster.petclinic.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Properties specific to Petclinic.
@@ -10,4 +15,482 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Database database = new Database();
+
+    private final Security security = new Security();
+
+    private final AuditEvents auditEvents = new AuditEvents();
+
+    private final Cache cache = new Cache();
+
+    private final Schedule schedule = new Schedule();
+
+    private final VetDirectory vetDirectory = new VetDirectory();
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public AuditEvents getAuditEvents() {
+        return auditEvents;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public VetDirectory getVetDirectory() {
+        return vetDirectory;
+    }
+
+    public static class Database {
+
+        private final Replica replica = new Replica();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        /**
+         * Read-only replica of the database, used by the read-only transactions when its URL is set.
+         */
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class Security {
+
+        private final JwtCache jwtCache = new JwtCache();
+
+        public JwtCache getJwtCache() {
+            return jwtCache;
+        }
+
+        /**
+         * Cache of the already verified JWT tokens, {@code 0} entries disables it.
+         */
+        public static class JwtCache {
+
+            private int maxEntries = 10_000;
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    /**
+     * Storage, background writer, retention purge and partitions of the audit events.
+     */
+    public static class AuditEvents {
+
+        public enum Storage {
+            DATABASE, FILE
+        }
+
+        private Storage storage = Storage.DATABASE;
+
+        private final FileStorage file = new FileStorage();
+
+        private int queueCapacity = 10_000;
+
+        private int batchSize = 100;
+
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private Duration enqueueTimeout = Duration.ZERO;
+
+        private int purgeChunkSize = 1000;
+
+        private int partitionsAhead = 2;
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        public void setStorage(Storage storage) {
+            this.storage = storage;
+        }
+
+        public FileStorage getFile() {
+            return file;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public Duration getEnqueueTimeout() {
+            return enqueueTimeout;
+        }
+
+        public void setEnqueueTimeout(Duration enqueueTimeout) {
+            this.enqueueTimeout = enqueueTimeout;
+        }
+
+        public int getPurgeChunkSize() {
+            return purgeChunkSize;
+        }
+
+        public void setPurgeChunkSize(int purgeChunkSize) {
+            this.purgeChunkSize = purgeChunkSize;
+        }
+
+        public int getPartitionsAhead() {
+            return partitionsAhead;
+        }
+
+        public void setPartitionsAhead(int partitionsAhead) {
+            this.partitionsAhead = partitionsAhead;
+        }
+
+        /**
+         * Append-only segment files, used instead of the database when the storage is {@code file}.
+         */
+        public static class FileStorage {
+
+            private String directory = "audit";
+
+            private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+            public String getDirectory() {
+                return directory;
+            }
+
+            public void setDirectory(String directory) {
+                this.directory = directory;
+            }
+
+            public DataSize getSegmentSize() {
+                return segmentSize;
+            }
+
+            public void setSegmentSize(DataSize segmentSize) {
+                this.segmentSize = segmentSize;
+            }
+        }
+    }
+
+    /**
+     * Per-region overrides of the {@code jhipster.cache} defaults.
+     * <p>
+     * The regions are named after the cache, without the domain package: {@code usersByLogin},
+     * {@code Owner} or {@code '[Owner.pets]'} (the brackets keep the dot in the key).
+     */
+    public static class Cache {
+
+        private String persistenceDirectory;
+
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        /**
+         * Directory of the Ehcache disk tiers, which must be set when a region has a disk tier.
+         */
+        public String getPersistenceDirectory() {
+            return persistenceDirectory;
+        }
+
+        public void setPersistenceDirectory(String persistenceDirectory) {
+            this.persistenceDirectory = persistenceDirectory;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        /**
+         * Settings of a cache region. The off-heap and disk tiers are only supported by Ehcache.
+         */
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Duration timeToLive;
+
+            private DataSize offHeapSize;
+
+            private DataSize diskSize;
+
+            private boolean diskPersistent;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+
+            public boolean isDiskPersistent() {
+                return diskPersistent;
+            }
+
+            public void setDiskPersistent(boolean diskPersistent) {
+                this.diskPersistent = diskPersistent;
+            }
+        }
+
+        /**
+         * Preloading of the reference data and of the recently authenticated users after a start.
+         */
+        public static class WarmUp {
+
+            private boolean enabled = true;
+
+            private int parallelism = 2;
+
+            private int rate = 50;
+
+            private int chunkSize = 100;
+
+            private Duration recentLoginPeriod = Duration.ofDays(1);
+
+            private int maxUsers = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            /**
+             * Maximum number of warm-up queries per second.
+             */
+            public int getRate() {
+                return rate;
+            }
+
+            public void setRate(int rate) {
+                this.rate = rate;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public Duration getRecentLoginPeriod() {
+                return recentLoginPeriod;
+            }
+
+            public void setRecentLoginPeriod(Duration recentLoginPeriod) {
+                this.recentLoginPeriod = recentLoginPeriod;
+            }
+
+            public int getMaxUsers() {
+                return maxUsers;
+            }
+
+            public void setMaxUsers(int maxUsers) {
+                this.maxUsers = maxUsers;
+            }
+        }
+    }
+
+    /**
+     * Time slots of the visits, a vet seeing one pet per slot.
+     */
+    public static class Schedule {
+
+        private Duration dayStart = Duration.ofHours(9);
+
+        private Duration slotDuration = Duration.ofMinutes(30);
+
+        private int slotsPerDay = 16;
+
+        private int searchDays = 60;
+
+        private Duration lockTimeout = Duration.ofSeconds(5);
+
+        private int maxAttempts = 3;
+
+        /**
+         * Start of the first slot of the day, from midnight.
+         */
+        public Duration getDayStart() {
+            return dayStart;
+        }
+
+        public void setDayStart(Duration dayStart) {
+            this.dayStart = dayStart;
+        }
+
+        public Duration getSlotDuration() {
+            return slotDuration;
+        }
+
+        public void setSlotDuration(Duration slotDuration) {
+            this.slotDuration = slotDuration;
+        }
+
+        /**
+         * Number of slots per day, at most 64.
+         */
+        public int getSlotsPerDay() {
+            return slotsPerDay;
+        }
+
+        public void setSlotsPerDay(int slotsPerDay) {
+            this.slotsPerDay = slotsPerDay;
+        }
+
+        /**
+         * Number of days searched for the first free slot.
+         */
+        public int getSearchDays() {
+            return searchDays;
+        }
+
+        public void setSearchDays(int searchDays) {
+            this.searchDays = searchDays;
+        }
+
+        /**
+         * How long a booking waits for the other bookings of the same vet and day.
+         */
+        public Duration getLockTimeout() {
+            return lockTimeout;
+        }
+
+        public void setLockTimeout(Duration lockTimeout) {
+            this.lockTimeout = lockTimeout;
+        }
+
+        /**
+         * Attempts of a booking failing on a transient conflict, like a deadlock or a lock timeout.
+         */
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /**
+     * In-memory snapshot of the vets and the specialties.
+     */
+    public static class VetDirectory {
+
+        private Duration maxStaleness = Duration.ofMinutes(5);
+
+        /**
+         * How long a snapshot is served before being rebuilt, for the changes it isn't notified of: the changes
+         * committed by the other instances of the application, or made without Hibernate.
+         */
+        public Duration getMaxStaleness() {
+            return maxStaleness;
+        }
+
+        public void setMaxStaleness(Duration maxStaleness) {
+            this.maxStaleness = maxStaleness;
+        }
+    }
 }
@@ -1,32 +1,51 @@
 package io.github.jhipster.petclinic.config;
 
+import java.io.File;
 import java.time.Duration;
+import java.util.OptionalLong;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+
+import javax.cache.Caching;
 
 import org.hibernate.cache.jcache.ConfigSettings;
 import io.github.jhipster.config.JHipsterProperties;
 
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.*;
 
+/**
+ * JCache regions of the Hibernate second-level cache and of the Spring caches.
+ * <p>
+ * The provider is chosen by {@code spring.cache.jcache.provider}: Ehcache, configured by {@code jhipster.cache.ehcache},
+ * or Caffeine, an on-heap near cache configured by {@code jhipster.cache.caffeine}. Each region can override these
+ * defaults in {@code application.cache.regions}, and add Ehcache off-heap and disk tiers to keep large regions out
+ * of the Java heap. The statistics of every region are enabled, so that Spring Boot publishes their
+ * {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} metrics.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    static final String DOMAIN_PACKAGE = "io.github.jhipster.petclinic.domain.";
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    private final JHipsterProperties.Cache cacheProperties;
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build());
+    private final ApplicationProperties.Cache regionProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.cacheProperties = jHipsterProperties.getCache();
+        this.regionProperties = applicationProperties.getCache();
     }
 
     @Bean
@@ -34,6 +53,20 @@ public class CacheConfiguration {
         return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
+    /**
+     * The Ehcache manager with a persistence directory, required by the disk tiers. Without a persistence directory,
+     * Spring Boot creates the cache manager of {@code spring.cache.jcache.provider}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache", name = "persistence-directory")
+    public javax.cache.CacheManager jCacheCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        javax.cache.CacheManager cm = provider.getCacheManager(provider.getDefaultURI(), new DefaultConfiguration(
+            provider.getDefaultClassLoader(), new DefaultPersistenceConfiguration(new File(regionProperties.getPersistenceDirectory()))));
+        cacheManagerCustomizer().customize(cm);
+        return cm;
+    }
+
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
@@ -58,8 +91,56 @@ public class CacheConfiguration {
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache == null) {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cm, regionName(cacheName), cacheName.startsWith(DOMAIN_PACKAGE)));
+        }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    /**
+     * @param hibernateRegion whether the cache is a region of the Hibernate second-level cache, whose entries are
+     * the disassembled state of the entities, and never modified once cached.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(javax.cache.CacheManager cm,
+                                                                                       String regionName,
+                                                                                       boolean hibernateRegion) {
+        ApplicationProperties.Cache.Region region = regionProperties.getRegions()
+            .getOrDefault(regionName, new ApplicationProperties.Cache.Region());
+        if (cm.getCachingProvider() instanceof CaffeineCachingProvider) {
+            JHipsterProperties.Cache.Caffeine caffeine = cacheProperties.getCaffeine();
+            CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+            caffeineConfiguration.setMaximumSize(OptionalLong.of(
+                region.getMaxEntries() != null ? region.getMaxEntries() : caffeine.getMaxEntries()));
+            caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(timeToLive(region, caffeine.getTimeToLiveSeconds()).toNanos()));
+            // The Hibernate entries are shared, as the JCache default of copying them by serialization defeats a near
+            // cache. The Spring caches hold mutable entities, such as the users, and keep getting a copy per read.
+            caffeineConfiguration.setStoreByValue(!hibernateRegion);
+            caffeineConfiguration.setStatisticsEnabled(true);
+            return caffeineConfiguration;
+        }
+        JHipsterProperties.Cache.Ehcache ehcache = cacheProperties.getEhcache();
+        ResourcePoolsBuilder resourcePools =
+            ResourcePoolsBuilder.heap(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries());
+        // The lower tiers store the entries serialized: the Hibernate entries hold the disassembled state of the entities
+        if (region.getOffHeapSize() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeapSize().toKilobytes(), MemoryUnit.KB);
         }
+        if (region.getDiskSize() != null) {
+            resourcePools = resourcePools.disk(region.getDiskSize().toKilobytes(), MemoryUnit.KB, region.isDiskPersistent());
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive(region, ehcache.getTimeToLiveSeconds())))
+                .build());
     }
 
+    private static Duration timeToLive(ApplicationProperties.Cache.Region region, int defaultTimeToLiveSeconds) {
+        return region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(defaultTimeToLiveSeconds);
+    }
+
+    /**
+     * The name of a cache in {@code application.cache.regions}, without the domain package.
+     */
+    static String regionName(String cacheName) {
+        return cacheName.startsWith(DOMAIN_PACKAGE) ? cacheName.substring(DOMAIN_PACKAGE.length()) : cacheName;
+    }
 }
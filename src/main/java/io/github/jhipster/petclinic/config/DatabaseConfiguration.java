@@ -2,17 +2,25 @@ package io.github.jhipster.petclinic.config;
 
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.h2.H2ConfigurationHelper;
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.sql.DataSource;
 import java.sql.SQLException;
 
 @Configuration
@@ -43,6 +51,52 @@ public class DatabaseConfiguration {
         return H2ConfigurationHelper.createServer(port);
     }
 
+    /**
+     * Pools of the primary database and of its read-only replica, routed by transaction.
+     * <p>
+     * Only created when {@code application.database.replica.url} is set; otherwise the single
+     * {@code spring.datasource} pool is auto-configured by Spring Boot.
+     *
+     * @param dataSourceProperties the properties of the primary database.
+     * @param applicationProperties the properties of the replica.
+     * @return the routing data source.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.database.replica", name = "url")
+    public TransactionRoutingDataSource transactionRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                     ApplicationProperties applicationProperties) {
+        ApplicationProperties.Database.Replica replicaProperties = applicationProperties.getDatabase().getReplica();
+        log.info("Routing read-only transactions to the database replica {}", replicaProperties.getUrl());
+        HikariDataSource primary = createPool(dataSourceProperties.getUrl(), dataSourceProperties.getUsername(), dataSourceProperties.getPassword());
+        HikariDataSource replica = createPool(replicaProperties.getUrl(), replicaProperties.getUsername(), replicaProperties.getPassword());
+        replica.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "Hikari") + "-replica");
+        replica.setReadOnly(true);
+        return new TransactionRoutingDataSource(primary, replica);
+    }
+
+    /**
+     * Data source of the application when a replica is configured: connections are only taken from a pool
+     * on their first statement, once the transaction is started and known to be read-only or not.
+     *
+     * @param transactionRoutingDataSource the routing data source.
+     * @return the data source.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "application.database.replica", name = "url")
+    public DataSource dataSource(TransactionRoutingDataSource transactionRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(transactionRoutingDataSource);
+    }
+
+    private HikariDataSource createPool(String url, String username, String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+
     private String getValidPortForH2() {
         int port = Integer.parseInt(env.getProperty("server.port"));
         if (port < 10000) {
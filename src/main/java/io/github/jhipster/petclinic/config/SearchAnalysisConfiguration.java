@@ -0,0 +1,70 @@
+package io.github.jhipster.petclinic.config;
+
+import org.apache.lucene.analysis.core.KeywordTokenizerFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.ngram.NGramFilterFactory;
+import org.apache.lucene.analysis.snowball.SnowballPorterFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.analyzer.definition.LuceneAnalysisDefinitionProvider;
+import org.hibernate.search.analyzer.definition.LuceneAnalysisDefinitionRegistryBuilder;
+
+/**
+ * Analyzers of the embedded full-text index, registered through the
+ * {@code hibernate.search.lucene.analysis_definition_provider} property.
+ * <p>
+ * Fields indexed with an n-gram analyzer must be searched with the matching query analyzer,
+ * so that a search for "frank" only matches the terms starting with "frank".
+ */
+public class SearchAnalysisConfiguration implements LuceneAnalysisDefinitionProvider {
+
+    /**
+     * Word prefixes, to match "Franklin" when searching "frank".
+     */
+    public static final String AUTOCOMPLETE = "autocomplete";
+
+    public static final String AUTOCOMPLETE_QUERY = "autocompleteQuery";
+
+    /**
+     * Any fragment of at least 3 characters of the whole value, to match phone numbers.
+     */
+    public static final String FRAGMENT = "fragment";
+
+    public static final String FRAGMENT_QUERY = "fragmentQuery";
+
+    /**
+     * English stemmed words, to match "limping" when searching "limp".
+     */
+    public static final String ENGLISH = "english";
+
+    @Override
+    public void register(LuceneAnalysisDefinitionRegistryBuilder builder) {
+        builder.analyzer(AUTOCOMPLETE)
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class)
+                .tokenFilter(EdgeNGramFilterFactory.class)
+                    .param("minGramSize", "1")
+                    .param("maxGramSize", "30")
+            .analyzer(AUTOCOMPLETE_QUERY)
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class)
+            .analyzer(FRAGMENT)
+                .tokenizer(KeywordTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(NGramFilterFactory.class)
+                    .param("minGramSize", "3")
+                    .param("maxGramSize", "10")
+            .analyzer(FRAGMENT_QUERY)
+                .tokenizer(KeywordTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+            .analyzer(ENGLISH)
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class)
+                .tokenFilter(SnowballPorterFilterFactory.class)
+                    .param("language", "English");
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.jhipster.petclinic.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link DataSource} sending the read-only transactions to a replica, and everything else to the primary database.
+ * <p>
+ * The routing key is only known once the transaction is started, so this data source must be wrapped
+ * in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class TransactionRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    public TransactionRoutingDataSource(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Route.PRIMARY, primary);
+        targetDataSources.put(Route.REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * Close the pools of the primary database and of the replica.
+     *
+     * @throws IOException if a pool couldn't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource dataSource : new DataSource[] {replica, primary}) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+}
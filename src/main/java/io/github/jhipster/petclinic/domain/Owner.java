@@ -1,14 +1,24 @@
 package io.github.jhipster.petclinic.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.jhipster.petclinic.config.SearchAnalysisConfiguration;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.annotations.Analyzer;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.Objects;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 /**
@@ -16,37 +26,63 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "owner")
+@EntityListeners(AuditingEntityListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@Indexed
 public class Owner implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     private Long id;
 
+    /**
+     * Incremented by every update, for the optimistic locking and the ETags.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @LastModifiedDate
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
     @NotNull
     @Size(max = 30)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "first_name", length = 30, nullable = false)
     private String firstName;
 
     @NotNull
     @Size(max = 30)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "last_name", length = 30, nullable = false)
     private String lastName;
 
+    /**
+     * Lower-case copy of {@link #lastName}, indexed for case-insensitive searches.
+     */
+    @JsonIgnore
+    @Column(name = "last_name_lower", length = 30, nullable = false)
+    private String lastNameLower;
+
     @NotNull
     @Size(max = 255)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "address", length = 255, nullable = false)
     private String address;
 
     @NotNull
     @Size(max = 80)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "city", length = 80, nullable = false)
     private String city;
 
     @NotNull
     @Pattern(regexp = "^\\d{10}$")
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.FRAGMENT))
     @Column(name = "telephone", nullable = false)
     private String telephone;
 
@@ -63,6 +99,22 @@ public class Owner implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     public String getFirstName() {
         return firstName;
     }
@@ -81,12 +133,17 @@ public class Owner implements Serializable {
     }
 
     public Owner lastName(String lastName) {
-        this.lastName = lastName;
+        setLastName(lastName);
         return this;
     }
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        this.lastNameLower = lastName == null ? null : lastName.toLowerCase(Locale.ROOT);
+    }
+
+    public String getLastNameLower() {
+        return lastNameLower;
     }
 
     public String getAddress() {
@@ -19,7 +19,8 @@ public class PersistentAuditEvent implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auditEventSequenceGenerator")
+    @SequenceGenerator(name = "auditEventSequenceGenerator")
     @Column(name = "event_id")
     private Long id;
 
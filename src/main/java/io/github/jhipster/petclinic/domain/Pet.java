@@ -1,13 +1,21 @@
 package io.github.jhipster.petclinic.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.github.jhipster.petclinic.config.SearchAnalysisConfiguration;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.annotations.Analyzer;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.Objects;
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -20,17 +28,32 @@ import io.github.jhipster.petclinic.domain.enumeration.PetType;
  */
 @Entity
 @Table(name = "pet")
+@EntityListeners(AuditingEntityListener.class)
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@Indexed
 public class Pet implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     private Long id;
 
+    /**
+     * Incremented by every update, for the optimistic locking and the ETags.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @LastModifiedDate
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
     @NotNull
     @Size(max = 30)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "name", length = 30, nullable = false)
     private String name;
 
@@ -40,6 +63,7 @@ public class Pet implements Serializable {
 
     @NotNull
     @Enumerated(EnumType.STRING)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.AUTOCOMPLETE))
     @Column(name = "type", nullable = false)
     private PetType type;
 
@@ -60,6 +84,22 @@ public class Pet implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
     public String getName() {
         return name;
     }
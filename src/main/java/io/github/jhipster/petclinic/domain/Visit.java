@@ -1,8 +1,12 @@
 package io.github.jhipster.petclinic.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.github.jhipster.petclinic.config.SearchAnalysisConfiguration;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.search.annotations.Analyzer;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -17,20 +21,30 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "visit")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+@Indexed
 public class Visit implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
     private Long id;
 
+    /**
+     * Incremented by every update, for the optimistic locking.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @NotNull
     @Column(name = "date", nullable = false)
     private LocalDate date;
 
     @NotNull
     @Size(max = 255)
+    @Field(analyzer = @Analyzer(definition = SearchAnalysisConfiguration.ENGLISH))
     @Column(name = "description", length = 255, nullable = false)
     private String description;
 
@@ -38,6 +52,20 @@ public class Visit implements Serializable {
     @JsonIgnoreProperties("visits")
     private Pet pet;
 
+    /**
+     * The vet seeing the pet, if the visit was scheduled, only fetched when it's read.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JsonIgnoreProperties("specialities")
+    private Vet vet;
+
+    /**
+     * The time slot of the visit in its day, if the visit was scheduled.
+     */
+    @Min(0)
+    @Column(name = "slot")
+    private Integer slot;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -47,6 +75,14 @@ public class Visit implements Serializable {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public LocalDate getDate() {
         return date;
     }
@@ -85,6 +121,32 @@ public class Visit implements Serializable {
     public void setPet(Pet pet) {
         this.pet = pet;
     }
+
+    public Vet getVet() {
+        return vet;
+    }
+
+    public Visit vet(Vet vet) {
+        this.vet = vet;
+        return this;
+    }
+
+    public void setVet(Vet vet) {
+        this.vet = vet;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public Visit slot(Integer slot) {
+        this.slot = slot;
+        return this;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -109,6 +171,7 @@ public class Visit implements Serializable {
             "id=" + getId() +
             ", date='" + getDate() + "'" +
             ", description='" + getDescription() + "'" +
+            ", slot=" + getSlot() +
             "}";
     }
 }
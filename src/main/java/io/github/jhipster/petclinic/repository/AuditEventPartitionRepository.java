@@ -0,0 +1,168 @@
+package io.github.jhipster.petclinic.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Management of the monthly partitions of the {@code jhi_persistent_audit_event} table.
+ * <p>
+ * On MySQL and MariaDB the table is partitioned by range of {@code event_date}, with one {@code pYYYYMM}
+ * partition per month followed by a {@code p_future} partition. The other databases have no partitions,
+ * and these methods do nothing.
+ */
+@Repository
+public class AuditEventPartitionRepository {
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    /**
+     * The named lock of the creation of the partitions, per database as the MySQL locks are global to the server.
+     */
+    private static final String ROLLOVER_LOCK = "concat(database(), '.jhi_persistent_audit_event')";
+
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventPartitionRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean partitioned;
+
+    public AuditEventPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            partitioned = ("MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database)) &&
+                jdbcTemplate.queryForObject("select count(*) from information_schema.partitions " +
+                    "where table_schema = database() and table_name = 'jhi_persistent_audit_event' " +
+                    "and partition_name = '" + FUTURE_PARTITION + "'", Integer.class) > 0;
+        }
+        return partitioned;
+    }
+
+    /**
+     * Get the months having a partition, in ascending order.
+     *
+     * @return the months having a partition.
+     */
+    public List<YearMonth> findMonthlyPartitions() {
+        if (!isPartitioned()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList("select partition_name from information_schema.partitions " +
+                "where table_schema = database() and table_name = 'jhi_persistent_audit_event' " +
+                "order by partition_ordinal_position", String.class).stream()
+            .filter(name -> !FUTURE_PARTITION.equals(name))
+            .map(name -> YearMonth.parse(name, PARTITION_NAME_FORMAT))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Take the lock of the creation of the partitions without waiting for it, so that a single instance of the
+     * application reorganizes the table at a time.
+     * <p>
+     * The lock belongs to the connection which takes it: it must be taken, and released by {@link #unlockRollover()},
+     * in the transaction creating the partitions.
+     *
+     * @return {@code true} if the lock was taken, or if the table isn't partitioned.
+     */
+    public boolean tryLockRollover() {
+        if (!isPartitioned()) {
+            return true;
+        }
+        return Integer.valueOf(1).equals(jdbcTemplate.queryForObject("select get_lock(" + ROLLOVER_LOCK + ", 0)", Integer.class));
+    }
+
+    /**
+     * Release the lock taken by {@link #tryLockRollover()}.
+     */
+    public void unlockRollover() {
+        if (isPartitioned()) {
+            jdbcTemplate.queryForObject("select release_lock(" + ROLLOVER_LOCK + ")", Integer.class);
+        }
+    }
+
+    /**
+     * Create the missing partitions after the last monthly partition, up to the given month.
+     *
+     * @param from the first month to partition, if there is no monthly partition yet.
+     * @param until the last month which must have a partition.
+     * @return the number of partitions created.
+     */
+    public int createMonthlyPartitions(YearMonth from, YearMonth until) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        List<YearMonth> months = findMonthlyPartitions();
+        YearMonth month = months.isEmpty() ? from : months.get(months.size() - 1).plusMonths(1);
+        int created = 0;
+        for (; !month.isAfter(until); month = month.plusMonths(1)) {
+            log.info("Creating the audit event partition {}", partitionName(month));
+            jdbcTemplate.execute("alter table jhi_persistent_audit_event reorganize partition " + FUTURE_PARTITION + " into (" +
+                "partition " + partitionName(month) + " values less than (" + partitionEnd(month).getEpochSecond() + "), " +
+                "partition " + FUTURE_PARTITION + " values less than maxvalue)");
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Drop the monthly partitions only holding events older than the given date.
+     * <p>
+     * The data of their events is deleted first by chunks of event ids, as the data table isn't partitioned.
+     *
+     * @param before the date before which the events are expired.
+     * @param chunkSize the number of events of which the data is deleted per statement.
+     * @return the number of events dropped.
+     */
+    public long dropMonthlyPartitionsBefore(Instant before, int chunkSize) {
+        long dropped = 0;
+        for (YearMonth month : findMonthlyPartitions()) {
+            if (partitionEnd(month).isAfter(before)) {
+                break;
+            }
+            String partition = partitionName(month);
+            Map<String, Object> ids = jdbcTemplate.queryForMap("select count(*) as event_count, min(event_id) as min_id, " +
+                "max(event_id) as max_id from jhi_persistent_audit_event partition (" + partition + ")");
+            if (ids.get("min_id") != null) {
+                long maxId = ((Number) ids.get("max_id")).longValue();
+                for (long from = ((Number) ids.get("min_id")).longValue(); from <= maxId; from += chunkSize) {
+                    jdbcTemplate.update("delete d from jhi_persistent_audit_evt_data d " +
+                        "join jhi_persistent_audit_event partition (" + partition + ") e on e.event_id = d.event_id " +
+                        "where e.event_id between ? and ?", from, from + chunkSize - 1);
+                }
+            }
+            log.info("Dropping the audit event partition {}", partition);
+            jdbcTemplate.execute("alter table jhi_persistent_audit_event drop partition " + partition);
+            dropped += ((Number) ids.get("event_count")).longValue();
+        }
+        return dropped;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_NAME_FORMAT.format(month);
+    }
+
+    /**
+     * The exclusive upper bound of the partition of a month.
+     */
+    static Instant partitionEnd(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
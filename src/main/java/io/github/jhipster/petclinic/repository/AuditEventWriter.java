@@ -0,0 +1,182 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the {@link PersistentAuditEvent}s to the database from a background thread, by JDBC batches.
+ * <p>
+ * The events are buffered in a bounded queue: when it is full, {@link #write(PersistentAuditEvent)} waits
+ * up to the configured enqueue timeout and then drops the event, so a login storm can neither exhaust
+ * the memory nor block the logins on the database.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.audit-events", name = "storage", havingValue = "database", matchIfMissing = true)
+public class AuditEventWriter {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PersistentAuditEvent> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final long enqueueTimeoutNanos;
+
+    private final Counter writtenEvents;
+
+    private final Counter droppedEvents;
+
+    private volatile boolean running;
+
+    private Thread writerThread;
+
+    public AuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                            MeterRegistry meterRegistry) {
+        ApplicationProperties.AuditEvents properties = applicationProperties.getAuditEvents();
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = properties.getBatchSize();
+        this.flushIntervalNanos = properties.getFlushInterval().toNanos();
+        this.enqueueTimeoutNanos = properties.getEnqueueTimeout().toNanos();
+        this.writtenEvents = Counter.builder("audit.events.written")
+            .description("Audit events written to the database")
+            .register(meterRegistry);
+        this.droppedEvents = Counter.builder("audit.events.dropped")
+            .description("Audit events dropped because the queue was full or the database write failed")
+            .register(meterRegistry);
+        Gauge.builder("audit.events.queue.size", queue, Collection::size)
+            .description("Audit events waiting to be written to the database")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue an audit event, to be written by the background thread.
+     *
+     * @param persistentAuditEvent the audit event to write.
+     * @return false if the queue was full and the event was dropped.
+     */
+    public boolean write(PersistentAuditEvent persistentAuditEvent) {
+        boolean queued;
+        try {
+            queued = enqueueTimeoutNanos > 0
+                ? queue.offer(persistentAuditEvent, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)
+                : queue.offer(persistentAuditEvent);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            droppedEvents.increment();
+            log.warn("Audit event queue is full, dropping {}", persistentAuditEvent);
+        }
+        return queued;
+    }
+
+    /**
+     * Write all the queued events from the calling thread.
+     *
+     * @return the number of events taken from the queue.
+     */
+    public int flush() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            count += batch.size();
+            writeBatch(batch);
+            batch.clear();
+        }
+        return count;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "audit-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.join(TimeUnit.NANOSECONDS.toMillis(2 * flushIntervalNanos) + 1000);
+        flush();
+    }
+
+    /**
+     * Wait for a first event, then write a batch when it is full or when the flush interval has elapsed.
+     * <p>
+     * The thread is not interrupted on shutdown, as interrupting a JDBC call can close the connection.
+     */
+    private void run() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PersistentAuditEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PersistentAuditEvent next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                writeBatch(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PersistentAuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> persistenceAuditEventRepository.saveAll(batch));
+            writtenEvents.increment(batch.size());
+        } catch (RuntimeException e) {
+            droppedEvents.increment(batch.size());
+            log.error("Could not write {} audit events", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,659 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.config.Constants;
+import io.github.jhipster.petclinic.config.audit.AuditEventConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An implementation of Spring Boot's {@link AuditEventRepository} appending the events to segment files,
+ * instead of the database.
+ * <p>
+ * Each event is a binary record appended to the active segment, which is replaced by a new one when it
+ * reaches the configured size. The segments are read through memory mappings, and each one keeps a sparse
+ * time index in memory (rebuilt on startup) so the date queries skip the older records, and a page of events
+ * is read by seeking to its first record, only decoding the records of the page. The id of an event
+ * is its position: the sequence number of its segment in the high 32 bits, and its offset in the low ones.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "application.audit-events", name = "storage", havingValue = "file")
+public class FileAuditEventRepository implements AuditEventRepository {
+
+    private static final String AUTHORIZATION_FAILURE = "AUTHORIZATION_FAILURE";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Number of records between two entries of the time index of a segment.
+     */
+    private static final int INDEX_INTERVAL = 64;
+
+    private final Logger log = LoggerFactory.getLogger(FileAuditEventRepository.class);
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private FileChannel activeChannel;
+
+    public FileAuditEventRepository(ApplicationProperties applicationProperties, AuditEventConverter auditEventConverter)
+        throws IOException {
+        ApplicationProperties.AuditEvents.FileStorage properties = applicationProperties.getAuditEvents().getFile();
+        this.auditEventConverter = auditEventConverter;
+        this.directory = Paths.get(properties.getDirectory());
+        this.segmentSize = Math.min(properties.getSegmentSize().toBytes(), Integer.MAX_VALUE);
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted()
+                .collect(Collectors.toList())) {
+                segments.add(Segment.load(path));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(directory, 1));
+        }
+        segments.subList(0, segments.size() - 1).forEach(Segment::seal);
+        activeChannel = FileChannel.open(activeSegment().path, StandardOpenOption.WRITE);
+        log.debug("Opened {} audit event segments in {}", segments.size(), directory);
+    }
+
+    @Override
+    public void add(AuditEvent event) {
+        if (AUTHORIZATION_FAILURE.equals(event.getType()) || Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
+            return;
+        }
+        try {
+            append(encode(event), event.getTimestamp().toEpochMilli());
+        } catch (IOException e) {
+            log.error("Could not write audit event {}", event, e);
+        }
+    }
+
+    @Override
+    public List<AuditEvent> find(String principal, Instant after, String type) {
+        List<AuditEvent> auditEvents = new ArrayList<>();
+        scan(after == null ? null : after.toEpochMilli() + 1, null, (buffer, offset, timestamp) -> {
+            AuditEvent auditEvent = decode(buffer, offset);
+            if ((principal == null || principal.equals(auditEvent.getPrincipal())) &&
+                (type == null || type.equals(auditEvent.getType()))) {
+                auditEvents.add(auditEvent);
+            }
+        });
+        auditEvents.sort(Comparator.comparing(AuditEvent::getTimestamp));
+        return auditEvents;
+    }
+
+    public Page<AuditEvent> findAll(Pageable pageable) {
+        return findByDates(null, null, pageable);
+    }
+
+    /**
+     * Find a page of the audit events between two dates, sorted by date.
+     * <p>
+     * The segments are read in the order of the page, the ones before it only being counted. The records of a
+     * segment are usually appended in date order, so the page is found through the time index; the records of
+     * the segments which are out of order are sorted, only keeping the records up to the end of the page.
+     *
+     * @param fromDate the first date, inclusive, or {@code null} if unrestricted.
+     * @param toDate the last date, inclusive, or {@code null} if unrestricted.
+     * @param pageable the pagination information, the events are sorted by descending date if its sort is descending.
+     * @return the page of audit events.
+     */
+    public Page<AuditEvent> findByDates(Instant fromDate, Instant toDate, Pageable pageable) {
+        long fromMillis = fromDate == null ? Long.MIN_VALUE : fromDate.toEpochMilli();
+        long toMillis = toDate == null ? Long.MAX_VALUE : toDate.toEpochMilli();
+        boolean descending = pageable.getSort().stream().anyMatch(Sort.Order::isDescending);
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<List<View>> groups = groups(fromMillis, toMillis);
+        if (descending) {
+            Collections.reverse(groups);
+        }
+        List<AuditEvent> content = new ArrayList<>();
+        long total = 0;
+        for (List<View> group : groups) {
+            long matching = group.stream().mapToLong(view -> view.count(fromMillis, toMillis)).sum();
+            total += matching;
+            if (skip >= matching) {
+                skip -= matching;
+            } else if (content.size() < limit) {
+                read(group, fromMillis, toMillis, descending, (int) skip, limit - content.size(), content);
+                skip = 0;
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    public Optional<AuditEvent> find(Long id) {
+        long sequence = id >>> 32;
+        int offset = (int) (id & 0xFFFFFFFFL);
+        for (Segment segment : segments) {
+            if (segment.sequence == sequence) {
+                View view = segment.view();
+                for (int position = view.indexedOffsetAtOrBefore(offset); position < view.size && position <= offset;
+                     position = view.next(position)) {
+                    if (position == offset) {
+                        return Optional.of(decode(view.buffer, offset));
+                    }
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Delete the segments only holding events older than the given date. The active segment is never deleted.
+     *
+     * @param before the date before which the events are expired.
+     * @return the number of events deleted.
+     */
+    public synchronized long deleteSegmentsBefore(Instant before) {
+        long deleted = 0;
+        for (Segment segment : segments) {
+            if (segment == activeSegment() || segment.maxTimestamp >= before.toEpochMilli()) {
+                break;
+            }
+            segments.remove(segment);
+            try {
+                Files.deleteIfExists(segment.path);
+                deleted += segment.count;
+            } catch (IOException e) {
+                log.error("Could not delete the audit event segment {}", segment.path, e);
+            }
+        }
+        return deleted;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        activeChannel.force(false);
+        activeChannel.close();
+    }
+
+    private synchronized void append(byte[] record, long timestamp) throws IOException {
+        Segment segment = activeSegment();
+        if (segment.size > 0 && segment.size + record.length > segmentSize) {
+            activeChannel.force(false);
+            activeChannel.close();
+            segment.seal();
+            segment = Segment.create(directory, segment.sequence + 1);
+            segments.add(segment);
+            activeChannel = FileChannel.open(segment.path, StandardOpenOption.WRITE);
+        }
+        int offset = segment.size;
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            activeChannel.write(buffer, offset + buffer.position());
+        }
+        segment.append(offset, record.length, timestamp);
+    }
+
+    private Segment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Call the consumer for each record with a timestamp between the given bounds, in file order.
+     */
+    private void scan(Long fromMillis, Long toMillis, RecordConsumer consumer) {
+        long from = fromMillis == null ? Long.MIN_VALUE : fromMillis;
+        long to = toMillis == null ? Long.MAX_VALUE : toMillis;
+        for (Segment segment : segments) {
+            View view = segment.view();
+            if (view.overlaps(from, to)) {
+                view.scan(from, to, consumer);
+            }
+        }
+    }
+
+    /**
+     * Group the segments having records between the given bounds, in file order, a segment with records before
+     * the last record of the previous ones being grouped with them.
+     */
+    private List<List<View>> groups(long fromMillis, long toMillis) {
+        List<List<View>> groups = new ArrayList<>();
+        long groupMaxTimestamp = Long.MIN_VALUE;
+        for (Segment segment : segments) {
+            View view = segment.view();
+            if (!view.overlaps(fromMillis, toMillis)) {
+                continue;
+            }
+            if (groups.isEmpty() || view.minTimestamp >= groupMaxTimestamp) {
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groups.size() - 1).add(view);
+            groupMaxTimestamp = Math.max(groupMaxTimestamp, view.maxTimestamp);
+        }
+        return groups;
+    }
+
+    /**
+     * Decode the records of a group of segments from a position in the order of the page, until a number of records.
+     */
+    private void read(List<View> group, long fromMillis, long toMillis, boolean descending, int skip, int limit,
+                      List<AuditEvent> content) {
+        if (group.size() == 1 && group.get(0).ordered) {
+            View view = group.get(0);
+            int first = view.ordinal(fromMillis);
+            int last = toMillis == Long.MAX_VALUE ? view.count : view.ordinal(toMillis + 1);
+            int from = descending ? Math.max(first, last - skip - limit) : first + skip;
+            int to = descending ? last - skip : Math.min(last, (int) Math.min((long) from + limit, Integer.MAX_VALUE));
+            if (from >= to) {
+                return;
+            }
+            List<AuditEvent> events = new ArrayList<>(to - from);
+            for (int ordinal = from, offset = view.offset(from); ordinal < to; ordinal++, offset = view.next(offset)) {
+                events.add(decode(view.buffer, offset));
+            }
+            if (descending) {
+                Collections.reverse(events);
+            }
+            content.addAll(events);
+            return;
+        }
+        // Keep the records up to the end of the page, the last one in the order of the page being evicted first
+        Comparator<Match> order = Comparator.<Match>comparingLong(match -> match.timestamp).thenComparingLong(match -> match.position);
+        if (descending) {
+            order = order.reversed();
+        }
+        int capacity = (int) Math.min((long) skip + limit, Integer.MAX_VALUE);
+        PriorityQueue<Match> matches = new PriorityQueue<>(order.reversed());
+        for (int i = 0; i < group.size(); i++) {
+            View view = group.get(i);
+            long segmentPosition = (long) i << 32;
+            view.scan(fromMillis, toMillis, (buffer, offset, timestamp) -> {
+                matches.add(new Match(buffer, offset, timestamp, segmentPosition | offset));
+                if (matches.size() > capacity) {
+                    matches.poll();
+                }
+            });
+        }
+        List<Match> sorted = new ArrayList<>(matches);
+        sorted.sort(order);
+        for (int i = skip; i < sorted.size(); i++) {
+            content.add(decode(sorted.get(i).buffer, sorted.get(i).offset));
+        }
+    }
+
+    /**
+     * Encode an event as: record length, timestamp, principal, type, number of data entries, data keys and values.
+     */
+    private byte[] encode(AuditEvent event) {
+        Map<String, String> data = auditEventConverter.convertDataToStrings(event.getData());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeLong(event.getTimestamp().toEpochMilli());
+            writeString(out, event.getPrincipal());
+            writeString(out, event.getType());
+            out.writeShort(data.size());
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+        return record;
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+            return;
+        }
+        if (value.length() > CustomAuditEventRepository.EVENT_DATA_COLUMN_MAX_LENGTH) {
+            value = value.substring(0, CustomAuditEventRepository.EVENT_DATA_COLUMN_MAX_LENGTH);
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private AuditEvent decode(ByteBuffer segmentBuffer, int offset) {
+        ByteBuffer buffer = segmentBuffer.duplicate();
+        buffer.position(offset + Integer.BYTES);
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        String principal = readString(buffer);
+        String type = readString(buffer);
+        int dataSize = buffer.getShort();
+        Map<String, String> data = new HashMap<>();
+        for (int i = 0; i < dataSize; i++) {
+            data.put(readString(buffer), readString(buffer));
+        }
+        return new AuditEvent(timestamp, principal, type, auditEventConverter.convertDataToObjects(data));
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface RecordConsumer {
+
+        void accept(ByteBuffer buffer, int offset, long timestamp);
+    }
+
+    private static final class Match {
+
+        private final ByteBuffer buffer;
+
+        private final int offset;
+
+        private final long timestamp;
+
+        /**
+         * The position of the record in its group of segments, ordering the records having the same timestamp.
+         */
+        private final long position;
+
+        private Match(ByteBuffer buffer, int offset, long timestamp, long position) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.timestamp = timestamp;
+            this.position = position;
+        }
+    }
+
+    /**
+     * A segment file, with its sparse time index.
+     * <p>
+     * Each index entry holds the offset of a record and the highest timestamp of the records before it,
+     * so a scan from a date can start at the last entry below that date. The entries are taken every
+     * {@link #INDEX_INTERVAL} records, so the n-th record is found from the entry before it.
+     */
+    private static final class Segment {
+
+        private final long sequence;
+
+        private final Path path;
+
+        private volatile int size;
+
+        private volatile long minTimestamp = Long.MAX_VALUE;
+
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+
+        private int count;
+
+        /**
+         * Whether the records were appended in date order.
+         */
+        private boolean ordered = true;
+
+        private int[] indexOffsets = new int[16];
+
+        private long[] indexMaxTimestamps = new long[16];
+
+        private int indexSize;
+
+        private volatile MappedByteBuffer sealedBuffer;
+
+        /**
+         * The mapping of the active segment, remapped when the segment grows past it.
+         */
+        private MappedByteBuffer activeBuffer;
+
+        private Segment(long sequence, Path path) {
+            this.sequence = sequence;
+            this.path = path;
+        }
+
+        static Segment create(Path directory, long sequence) throws IOException {
+            Path path = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+            Files.createFile(path);
+            return new Segment(sequence, path);
+        }
+
+        /**
+         * Load an existing segment and rebuild its index, dropping the incomplete record written by a crash, if any.
+         */
+        static Segment load(Path path) throws IOException {
+            String fileName = path.getFileName().toString();
+            Segment segment = new Segment(Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length())), path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int fileSize = (int) channel.size();
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+                int offset = 0;
+                while (offset + Integer.BYTES + Long.BYTES <= fileSize) {
+                    int length = buffer.getInt(offset);
+                    if (length < Long.BYTES || offset + Integer.BYTES + length > fileSize) {
+                        break;
+                    }
+                    segment.append(offset, Integer.BYTES + length, buffer.getLong(offset + Integer.BYTES));
+                    offset += Integer.BYTES + length;
+                }
+                if (offset < fileSize) {
+                    LoggerFactory.getLogger(FileAuditEventRepository.class)
+                        .warn("Truncating the incomplete audit event at the end of {}", path);
+                    channel.truncate(offset);
+                }
+            }
+            return segment;
+        }
+
+        synchronized void append(int offset, int length, long timestamp) {
+            if (count % INDEX_INTERVAL == 0) {
+                if (indexSize == indexOffsets.length) {
+                    indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+                    indexMaxTimestamps = Arrays.copyOf(indexMaxTimestamps, indexSize * 2);
+                }
+                indexOffsets[indexSize] = offset;
+                indexMaxTimestamps[indexSize] = maxTimestamp;
+                indexSize++;
+            }
+            count++;
+            ordered = ordered && timestamp >= maxTimestamp;
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            size = offset + length;
+        }
+
+        /**
+         * A consistent view of the records appended until now: sealed segments are mapped once, the active
+         * one is remapped when it has grown since it was last mapped.
+         */
+        synchronized View view() {
+            MappedByteBuffer buffer = sealedBuffer;
+            if (buffer == null) {
+                if (activeBuffer == null || activeBuffer.capacity() < size) {
+                    activeBuffer = map(size);
+                }
+                buffer = activeBuffer;
+            }
+            // The index arrays are replaced when they grow, and their first entries never change
+            return new View(buffer.duplicate(), size, count, ordered, minTimestamp, maxTimestamp,
+                indexOffsets, indexMaxTimestamps, indexSize);
+        }
+
+        synchronized void seal() {
+            sealedBuffer = map(size);
+            activeBuffer = null;
+        }
+
+        private MappedByteBuffer map(int size) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * The records of a segment appended until a point, with its time index.
+     */
+    private static final class View {
+
+        private final ByteBuffer buffer;
+
+        private final int size;
+
+        private final int count;
+
+        private final boolean ordered;
+
+        private final long minTimestamp;
+
+        private final long maxTimestamp;
+
+        private final int[] indexOffsets;
+
+        private final long[] indexMaxTimestamps;
+
+        private final int indexSize;
+
+        private View(ByteBuffer buffer, int size, int count, boolean ordered, long minTimestamp, long maxTimestamp,
+                     int[] indexOffsets, long[] indexMaxTimestamps, int indexSize) {
+            this.buffer = buffer;
+            this.size = size;
+            this.count = count;
+            this.ordered = ordered;
+            this.minTimestamp = minTimestamp;
+            this.maxTimestamp = maxTimestamp;
+            this.indexOffsets = indexOffsets;
+            this.indexMaxTimestamps = indexMaxTimestamps;
+            this.indexSize = indexSize;
+        }
+
+        boolean overlaps(long fromMillis, long toMillis) {
+            return count > 0 && maxTimestamp >= fromMillis && minTimestamp <= toMillis;
+        }
+
+        /**
+         * The number of records with a timestamp between the given bounds, without reading the records of an
+         * ordered segment or of a segment within the bounds.
+         */
+        int count(long fromMillis, long toMillis) {
+            if (!overlaps(fromMillis, toMillis)) {
+                return 0;
+            }
+            if (minTimestamp >= fromMillis && maxTimestamp <= toMillis) {
+                return count;
+            }
+            if (ordered) {
+                return (toMillis == Long.MAX_VALUE ? count : ordinal(toMillis + 1)) - ordinal(fromMillis);
+            }
+            int[] matching = new int[1];
+            scan(fromMillis, toMillis, (buffer, offset, timestamp) -> matching[0]++);
+            return matching[0];
+        }
+
+        /**
+         * Call the consumer for each record with a timestamp between the given bounds, in file order.
+         */
+        void scan(long fromMillis, long toMillis, RecordConsumer consumer) {
+            for (int offset = indexOffsets[startEntry(fromMillis)]; offset < size; offset = next(offset)) {
+                long timestamp = timestamp(offset);
+                if (timestamp >= fromMillis && timestamp <= toMillis) {
+                    consumer.accept(buffer, offset, timestamp);
+                }
+            }
+        }
+
+        /**
+         * The number of records before the first one at or after the given timestamp, in an ordered segment.
+         */
+        int ordinal(long timestamp) {
+            if (count == 0) {
+                return 0;
+            }
+            int entry = startEntry(timestamp);
+            int ordinal = entry * INDEX_INTERVAL;
+            for (int offset = indexOffsets[entry]; ordinal < count && timestamp(offset) < timestamp; offset = next(offset)) {
+                ordinal++;
+            }
+            return ordinal;
+        }
+
+        /**
+         * The offset of the record with the given ordinal.
+         */
+        int offset(int ordinal) {
+            int entry = ordinal / INDEX_INTERVAL;
+            int offset = indexOffsets[entry];
+            for (int i = entry * INDEX_INTERVAL; i < ordinal; i++) {
+                offset = next(offset);
+            }
+            return offset;
+        }
+
+        /**
+         * The last index entry after which all the records are at or after the given timestamp.
+         */
+        int startEntry(long timestamp) {
+            int low = 0;
+            int high = indexSize - 1;
+            int result = 0;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (indexMaxTimestamps[middle] < timestamp) {
+                    result = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * The offset of the last indexed record at or before the given offset.
+         */
+        int indexedOffsetAtOrBefore(int offset) {
+            int result = 0;
+            for (int i = 0; i < indexSize && indexOffsets[i] <= offset; i++) {
+                result = indexOffsets[i];
+            }
+            return result;
+        }
+
+        int next(int offset) {
+            return offset + Integer.BYTES + buffer.getInt(offset);
+        }
+
+        long timestamp(int offset) {
+            return buffer.getLong(offset + Integer.BYTES);
+        }
+    }
+}
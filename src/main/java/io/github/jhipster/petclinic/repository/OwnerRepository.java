@@ -1,14 +1,48 @@
 package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.repository.projection.EntityVersionDTO;
+import io.github.jhipster.petclinic.repository.projection.OwnerDTO;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Owner entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface OwnerRepository extends JpaRepository<Owner, Long> {
+
+    /**
+     * Projection of the owners to {@link OwnerDTO}s, which are neither managed nor cached.
+     */
+    String SELECT_DTO = "select new io.github.jhipster.petclinic.repository.projection.OwnerDTO(" +
+        "owner.id, owner.version, owner.firstName, owner.lastName, owner.address, owner.city, owner.telephone) from Owner owner";
+
+    @Query(value = SELECT_DTO, countQuery = "select count(owner) from Owner owner")
+    Page<OwnerDTO> findAllDto(Pageable pageable);
+
+    @Query(SELECT_DTO + " where owner.id = :id")
+    Optional<OwnerDTO> findDtoById(@Param("id") Long id);
+
+    @Query("select new io.github.jhipster.petclinic.repository.projection.EntityVersionDTO(owner.version, owner.lastModifiedDate) " +
+        "from Owner owner where owner.id = :id")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_DTO + " where owner.id > :after order by owner.id")
+    Slice<OwnerDTO> findDtoByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    @Query(value = SELECT_DTO + " where owner.lastNameLower like :#{escape(#lastNamePrefix)}% escape :#{escapeCharacter()}",
+        countQuery = "select count(owner) from Owner owner where owner.lastNameLower like :#{escape(#lastNamePrefix)}% escape :#{escapeCharacter()}")
+    Page<OwnerDTO> findDtoByLastNameLowerStartingWith(@Param("lastNamePrefix") String lastNamePrefix, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"pets", "pets.visits"})
+    Optional<Owner> findWithPetsAndVisitsById(Long id);
 }
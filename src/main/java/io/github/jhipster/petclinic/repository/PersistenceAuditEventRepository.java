@@ -4,8 +4,12 @@ import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,5 +23,22 @@ public interface PersistenceAuditEventRepository extends JpaRepository<Persisten
 
     Page<PersistentAuditEvent> findAllByAuditEventDateBetween(Instant fromDate, Instant toDate, Pageable pageable);
 
-    List<PersistentAuditEvent> findByAuditEventDateBefore(Instant before);
+    @Query("select p.principal from PersistentAuditEvent p where p.auditEventType = :type and p.auditEventDate > :after " +
+        "group by p.principal order by max(p.auditEventDate) desc")
+    List<String> findPrincipalsByAuditEventTypeAndAuditEventDateAfter(@Param("type") String type,
+                                                                      @Param("after") Instant after, Pageable pageable);
+
+    @Query("select p.id from PersistentAuditEvent p where p.auditEventDate < :before order by p.auditEventDate")
+    List<Long> findIdsByAuditEventDateBefore(@Param("before") Instant before, Pageable pageable);
+
+    /**
+     * Delete the data of the given events, which is not removed by the bulk delete of the events.
+     */
+    @Modifying
+    @Query(value = "delete from jhi_persistent_audit_evt_data where event_id in (:ids)", nativeQuery = true)
+    int deleteDataByEventIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from PersistentAuditEvent p where p.id in (:ids)")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,14 +1,32 @@
 package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.repository.projection.EntityVersionDTO;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Pet entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PetRepository extends JpaRepository<Pet, Long> {
+public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet> {
+
+    /**
+     * Projection of the pets to {@link PetDTO}s, which are neither managed nor cached.
+     */
+    String SELECT_DTO = "select new io.github.jhipster.petclinic.repository.projection.PetDTO(" +
+        "pet.id, pet.version, pet.name, pet.birthDate, pet.type, owner.id) from Pet pet left join pet.owner owner";
+
+    @Query(SELECT_DTO + " where pet.id = :id")
+    Optional<PetDTO> findDtoById(@Param("id") Long id);
+
+    @Query("select new io.github.jhipster.petclinic.repository.projection.EntityVersionDTO(pet.version, pet.lastModifiedDate) " +
+        "from Pet pet where pet.id = :id")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
 }
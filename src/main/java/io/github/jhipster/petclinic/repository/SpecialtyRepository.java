@@ -1,14 +1,30 @@
 package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Spring Data  repository for the Specialty entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface SpecialtyRepository extends JpaRepository<Specialty, Long> {
+
+    /**
+     * Projection of the specialties to {@link SpecialtyDTO}s, which are neither managed nor cached.
+     */
+    String SELECT_DTO = "select new io.github.jhipster.petclinic.repository.projection.SpecialtyDTO(specialty.id, specialty.version, specialty.name) from Specialty specialty";
+
+    @Query(SELECT_DTO)
+    List<SpecialtyDTO> findAllDto();
+
+    @Query(SELECT_DTO + " where specialty.id = :id")
+    Optional<SpecialtyDTO> findDtoById(@Param("id") Long id);
 }
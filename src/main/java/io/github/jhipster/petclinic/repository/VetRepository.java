@@ -1,15 +1,25 @@
 package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.projection.EntityVersionDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Spring Data  repository for the Vet entity.
@@ -17,13 +27,54 @@ import java.util.Optional;
 @Repository
 public interface VetRepository extends JpaRepository<Vet, Long> {
 
-    @Query(value = "select distinct vet from Vet vet left join fetch vet.specialities",
-        countQuery = "select count(distinct vet) from Vet vet")
-    Page<Vet> findAllWithEagerRelationships(Pageable pageable);
+    /**
+     * Projection of the vets to {@link VetDTO}s without their specialities, which are neither managed nor cached.
+     */
+    String SELECT_DTO = "select new io.github.jhipster.petclinic.repository.projection.VetDTO(vet.id, vet.version, vet.firstName, vet.lastName) from Vet vet";
+
+    @Query(value = SELECT_DTO, countQuery = "select count(vet) from Vet vet")
+    Page<VetDTO> findAllDto(Pageable pageable);
+
+    @Query(value = "select vet.id from Vet vet", countQuery = "select count(vet) from Vet vet")
+    Page<Long> findAllIds(Pageable pageable);
+
+    /**
+     * Get a page of vets with their specialities.
+     * <p>
+     * A fetch join can't be paginated by the database, so the ids of the page are selected first, then their
+     * vets are fetched with their specialities: only the vets of the page are read, whatever the number of vets.
+     * A vet deleted between the two queries is left out of the page.
+     *
+     * @param pageable the pagination information.
+     * @return the page of vets.
+     */
+    default Page<Vet> findAllWithEagerRelationships(Pageable pageable) {
+        Page<Long> ids = findAllIds(pageable);
+        // The vets are fetched by id, and put back in the order of the page
+        Map<Long, Vet> vets = ids.hasContent()
+            ? findAllWithEagerRelationshipsByIdIn(ids.getContent()).stream().collect(Collectors.toMap(Vet::getId, Function.identity()))
+            : Collections.emptyMap();
+        List<Vet> content = ids.getContent().stream().map(vets::get).filter(Objects::nonNull).collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements() - (ids.getNumberOfElements() - content.size()));
+    }
 
     @Query("select distinct vet from Vet vet left join fetch vet.specialities")
     List<Vet> findAllWithEagerRelationships();
 
     @Query("select vet from Vet vet left join fetch vet.specialities where vet.id =:id")
     Optional<Vet> findOneWithEagerRelationships(@Param("id") Long id);
+
+    /**
+     * The version of a vet with its specialities, which are renamed without incrementing the version of the vet.
+     */
+    @Query("select new io.github.jhipster.petclinic.repository.projection.EntityVersionDTO(vet.version, vet.lastModifiedDate, " +
+        "sum(specialty.version), max(specialty.lastModifiedDate)) from Vet vet left join vet.specialities specialty " +
+        "where vet.id = :id group by vet.id, vet.version, vet.lastModifiedDate")
+    Optional<EntityVersionDTO> findVersionById(@Param("id") Long id);
+
+    @Query("select distinct vet from Vet vet left join fetch vet.specialities where vet.id in :ids order by vet.id")
+    List<Vet> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_DTO + " where vet.id > :after order by vet.id")
+    Slice<VetDTO> findDtoByIdGreaterThan(@Param("after") Long after, Pageable pageable);
 }
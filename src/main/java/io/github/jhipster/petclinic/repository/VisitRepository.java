@@ -1,14 +1,65 @@
 package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.projection.AppointmentDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
 
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 /**
  * Spring Data  repository for the Visit entity.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface VisitRepository extends JpaRepository<Visit, Long> {
+
+    /**
+     * Number of rows fetched per round trip when streaming visits.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Projection of the visits to {@link VisitDTO}s, which are neither managed nor cached.
+     */
+    String SELECT_DTO = "select new io.github.jhipster.petclinic.repository.projection.VisitDTO(" +
+        "visit.id, visit.version, visit.date, visit.description, pet.id, vet.id, visit.slot) " +
+        "from Visit visit left join visit.pet pet left join visit.vet vet";
+
+    @Query(SELECT_DTO)
+    List<VisitDTO> findAllDto();
+
+    @Query(SELECT_DTO + " where visit.id = :id")
+    Optional<VisitDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * The visits scheduled in a slot of a vet from a day.
+     *
+     * @param from the first day.
+     * @return the scheduled visits.
+     */
+    @Query("select new io.github.jhipster.petclinic.repository.projection.AppointmentDTO(" +
+        "visit.id, pet.id, vet.id, visit.date, visit.slot, visit.description) " +
+        "from Visit visit join visit.vet vet left join visit.pet pet where visit.date >= :from and visit.slot is not null")
+    List<AppointmentDTO> findAllAppointmentsByDateGreaterThanEqual(@Param("from") LocalDate from);
+
+    /**
+     * Stream all the visits through a forward-only cursor.
+     * <p>
+     * The stream must be consumed inside a transaction and closed by the caller.
+     *
+     * @return the stream of visits, ordered by id.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query(SELECT_DTO + " order by visit.id")
+    Stream<VisitDTO> streamAllDto();
 }
@@ -0,0 +1,191 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+import io.github.jhipster.petclinic.repository.projection.PetTypeVisitsDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitStatisticsDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository of the visit statistics, the {@code pet_visit_stats} and {@code pet_type_visit_stats} tables.
+ * <p>
+ * The statistics aren't entities: they are updated with SQL increments, in the transactions changing the visits.
+ */
+@Repository
+public class VisitStatisticsRepository {
+
+    private static final String INSERT_PET_VISITS = "insert into pet_visit_stats (pet_id, visit_count, last_visit_date) " +
+        "select pet.id, count(visit.id), max(visit.date) from pet left join visit on visit.pet_id = pet.id group by pet.id";
+
+    private static final String INSERT_PET_TYPE_VISITS = "insert into pet_type_visit_stats (pet_type, visit_year, visit_month, visit_count) " +
+        "select pet.type, extract(year from visit.date), extract(month from visit.date), count(*) " +
+        "from visit join pet on pet.id = visit.pet_id " +
+        "group by pet.type, extract(year from visit.date), extract(month from visit.date)";
+
+    private static final String ADD_PET_TYPE_VISITS = "update pet_type_visit_stats set visit_count = visit_count + ? " +
+        "where pet_type = ? and visit_year = ? and visit_month = ?";
+
+    private static final String UPSERT_PET_TYPE_VISITS_MYSQL = "insert into pet_type_visit_stats " +
+        "(pet_type, visit_year, visit_month, visit_count) values (?, ?, ?, ?) " +
+        "on duplicate key update visit_count = visit_count + ?";
+
+    private static final String UPSERT_PET_TYPE_VISITS = "merge into pet_type_visit_stats stats " +
+        "using (select cast(? as varchar(255)) as pet_type, cast(? as integer) as visit_year, " +
+        "cast(? as integer) as visit_month, cast(? as bigint) as visit_count) added " +
+        "on (stats.pet_type = added.pet_type and stats.visit_year = added.visit_year and stats.visit_month = added.visit_month) " +
+        "when matched then update set visit_count = stats.visit_count + ? " +
+        "when not matched then insert (pet_type, visit_year, visit_month, visit_count) " +
+        "values (added.pet_type, added.visit_year, added.visit_month, added.visit_count)";
+
+    private final Logger log = LoggerFactory.getLogger(VisitStatisticsRepository.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String upsertPetTypeVisits;
+
+    public VisitStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Get the number of visits per pet type and month.
+     *
+     * @param from the first month.
+     * @param to the last month.
+     * @return the months having visits, in ascending order, then by pet type.
+     */
+    public List<PetTypeVisitsDTO> findPetTypeVisits(YearMonth from, YearMonth to) {
+        return jdbcTemplate.query("select pet_type, visit_year, visit_month, visit_count from pet_type_visit_stats " +
+                "where visit_year * 100 + visit_month between ? and ? and visit_count > 0 " +
+                "order by visit_year, visit_month, pet_type",
+            (resultSet, row) -> new PetTypeVisitsDTO(PetType.valueOf(resultSet.getString("pet_type")),
+                YearMonth.of(resultSet.getInt("visit_year"), resultSet.getInt("visit_month")), resultSet.getLong("visit_count")),
+            from.getYear() * 100 + from.getMonthValue(), to.getYear() * 100 + to.getMonthValue());
+    }
+
+    /**
+     * Get the statistics of a pet.
+     *
+     * @param petId the id of the pet.
+     * @return the statistics, or empty if the pet doesn't exist.
+     */
+    public Optional<VisitStatisticsDTO> findByPetId(long petId) {
+        return jdbcTemplate.query("select visit_count, last_visit_date from pet_visit_stats where pet_id = ?",
+            (resultSet, row) -> new VisitStatisticsDTO(resultSet.getLong("visit_count"), toLocalDate(resultSet.getDate("last_visit_date"))),
+            petId).stream().findFirst();
+    }
+
+    /**
+     * Get the statistics of the pets of an owner.
+     *
+     * @param ownerId the id of the owner.
+     * @return the statistics, without any visit if the owner doesn't exist.
+     */
+    public VisitStatisticsDTO findByOwnerId(long ownerId) {
+        return jdbcTemplate.queryForObject("select coalesce(sum(stats.visit_count), 0) as visit_count, " +
+                "max(stats.last_visit_date) as last_visit_date " +
+                "from pet join pet_visit_stats stats on stats.pet_id = pet.id where pet.owner_id = ?",
+            (resultSet, row) -> new VisitStatisticsDTO(resultSet.getLong("visit_count"), toLocalDate(resultSet.getDate("last_visit_date"))),
+            ownerId);
+    }
+
+    public Optional<PetType> findPetType(long petId) {
+        return jdbcTemplate.queryForList("select type from pet where id = ?", String.class, petId).stream()
+            .findFirst()
+            .map(PetType::valueOf);
+    }
+
+    public List<LocalDate> findVisitDatesByPetId(long petId) {
+        return jdbcTemplate.query("select date from visit where pet_id = ?",
+            (resultSet, row) -> toLocalDate(resultSet.getDate("date")), petId);
+    }
+
+    /**
+     * Add the statistics of a new pet, without any visit.
+     *
+     * @param petId the id of the pet.
+     */
+    public void insertPet(long petId) {
+        jdbcTemplate.update("insert into pet_visit_stats (pet_id, visit_count) values (?, 0)", petId);
+    }
+
+    /**
+     * Update the statistics of a pet from its visits, through the index of the visits on their pet and date.
+     *
+     * @param petId the id of the pet.
+     */
+    public void refreshPet(long petId) {
+        jdbcTemplate.update("update pet_visit_stats set " +
+            "visit_count = (select count(*) from visit where visit.pet_id = ?), " +
+            "last_visit_date = (select max(visit.date) from visit where visit.pet_id = ?) " +
+            "where pet_id = ?", petId, petId, petId);
+    }
+
+    /**
+     * Add visits to the number of visits of a pet type in a month.
+     * <p>
+     * The first visits of a month are added by a single upsert, which locks the row of the month whether it
+     * exists or not: an update finding no row, then an insert, would lock the gap of the missing row on MySQL,
+     * and deadlock with another transaction adding the first visits of the same month. The standard merge isn't
+     * atomic on H2, whose concurrent merges may both insert the missing row: the merge losing the race is run
+     * again, and updates the row inserted by the other one.
+     *
+     * @param petType the type of the pets.
+     * @param month the month of the visits.
+     * @param visits the number of visits to add, negative for removed visits.
+     */
+    public void addPetTypeVisits(PetType petType, YearMonth month, long visits) {
+        if (visits > 0) {
+            String upsert = getUpsertPetTypeVisits();
+            Object[] args = {petType.name(), month.getYear(), month.getMonthValue(), visits, visits};
+            try {
+                jdbcTemplate.update(upsert, args);
+            } catch (DuplicateKeyException e) {
+                if (UPSERT_PET_TYPE_VISITS_MYSQL.equals(upsert)) {
+                    throw e;
+                }
+                jdbcTemplate.update(upsert, args);
+            }
+        } else if (jdbcTemplate.update(ADD_PET_TYPE_VISITS, visits, petType.name(), month.getYear(), month.getMonthValue()) == 0) {
+            log.warn("Ignored {} removed visits of the {} pets in {}, which had no visits", -visits, petType, month);
+        }
+    }
+
+    /**
+     * Compute all the statistics again from the visits.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("delete from pet_type_visit_stats");
+        jdbcTemplate.update("delete from pet_visit_stats");
+        jdbcTemplate.update(INSERT_PET_VISITS);
+        jdbcTemplate.update(INSERT_PET_TYPE_VISITS);
+    }
+
+    /**
+     * @return the upsert of the visits of a month: a MySQL insert updating the duplicate row, or a standard merge.
+     */
+    private String getUpsertPetTypeVisits() {
+        if (upsertPetTypeVisits == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            upsertPetTypeVisits = "MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database) ?
+                UPSERT_PET_TYPE_VISITS_MYSQL : UPSERT_PET_TYPE_VISITS;
+        }
+        return upsertPetTypeVisits;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
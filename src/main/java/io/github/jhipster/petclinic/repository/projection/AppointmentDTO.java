@@ -0,0 +1,140 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A DTO for a {@link io.github.jhipster.petclinic.domain.Visit} scheduled in a time slot of a vet.
+ */
+public class AppointmentDTO implements Serializable {
+
+    private Long id;
+
+    @NotNull
+    private Long petId;
+
+    @NotNull
+    private Long vetId;
+
+    @NotNull
+    private LocalDate date;
+
+    @NotNull
+    @Min(0)
+    private Integer slot;
+
+    @NotNull
+    @Size(max = 255)
+    private String description;
+
+    private LocalDateTime start;
+
+    public AppointmentDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AppointmentDTO(Long id, Long petId, Long vetId, LocalDate date, Integer slot, String description) {
+        this.id = id;
+        this.petId = petId;
+        this.vetId = vetId;
+        this.date = date;
+        this.slot = slot;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPetId() {
+        return petId;
+    }
+
+    public void setPetId(Long petId) {
+        this.petId = petId;
+    }
+
+    public Long getVetId() {
+        return vetId;
+    }
+
+    public void setVetId(Long vetId) {
+        this.vetId = vetId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return the start of the slot, set in the responses.
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AppointmentDTO appointmentDTO = (AppointmentDTO) o;
+        if (appointmentDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), appointmentDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentDTO{" +
+            "id=" + getId() +
+            ", petId=" + getPetId() +
+            ", vetId=" + getVetId() +
+            ", date='" + getDate() + "'" +
+            ", slot=" + getSlot() +
+            ", description='" + getDescription() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The version of an entity, from which the {@code ETag} and {@code Last-Modified} headers of its GET are derived.
+ */
+public class EntityVersionDTO implements Serializable {
+
+    private final String tag;
+
+    private final Instant lastModifiedDate;
+
+    public EntityVersionDTO(long version, Instant lastModifiedDate) {
+        this.tag = String.valueOf(version);
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    /**
+     * The version of an entity rendered with related entities, which don't increment its own version.
+     *
+     * @param version the version of the entity.
+     * @param lastModifiedDate the last modification of the entity.
+     * @param relatedVersions the sum of the versions of the related entities, which only grows with their updates.
+     * @param relatedLastModifiedDate the last modification of the related entities.
+     */
+    public EntityVersionDTO(long version, Instant lastModifiedDate, Long relatedVersions, Instant relatedLastModifiedDate) {
+        this.tag = version + "-" + (relatedVersions != null ? relatedVersions : 0L);
+        this.lastModifiedDate = lastModifiedDate == null || (relatedLastModifiedDate != null && relatedLastModifiedDate.isAfter(lastModifiedDate))
+            ? relatedLastModifiedDate : lastModifiedDate;
+    }
+
+    /**
+     * @return the strong entity tag of this version, quoted.
+     */
+    public String getETag() {
+        return "\"" + tag + "\"";
+    }
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityVersionDTO{" +
+            "tag='" + tag + "'" +
+            ", lastModifiedDate='" + lastModifiedDate + "'" +
+            "}";
+    }
+}
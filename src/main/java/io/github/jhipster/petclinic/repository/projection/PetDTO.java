@@ -0,0 +1,120 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.jhipster.petclinic.domain.Pet} entity, its owner only holding an id.
+ */
+public class PetDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private String name;
+
+    private LocalDate birthDate;
+
+    private PetType type;
+
+    private OwnerDTO owner;
+
+    public PetDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PetDTO(Long id, Long version, String name, LocalDate birthDate, PetType type, Long ownerId) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+        this.birthDate = birthDate;
+        this.type = type;
+        if (ownerId != null) {
+            this.owner = new OwnerDTO();
+            this.owner.setId(ownerId);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public PetType getType() {
+        return type;
+    }
+
+    public void setType(PetType type) {
+        this.type = type;
+    }
+
+    public OwnerDTO getOwner() {
+        return owner;
+    }
+
+    public void setOwner(OwnerDTO owner) {
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PetDTO petDTO = (PetDTO) o;
+        if (petDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), petDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "PetDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", birthDate='" + getBirthDate() + "'" +
+            ", type='" + getType() + "'" +
+            ", ownerId=" + (getOwner() != null ? getOwner().getId() : null) +
+            "}";
+    }
+}
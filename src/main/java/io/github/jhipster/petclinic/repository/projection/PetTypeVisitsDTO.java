@@ -0,0 +1,61 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+
+/**
+ * The number of visits of the pets of a type in a month.
+ */
+public class PetTypeVisitsDTO implements Serializable {
+
+    private PetType petType;
+
+    private YearMonth month;
+
+    private long visits;
+
+    public PetTypeVisitsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PetTypeVisitsDTO(PetType petType, YearMonth month, long visits) {
+        this.petType = petType;
+        this.month = month;
+        this.visits = visits;
+    }
+
+    public PetType getPetType() {
+        return petType;
+    }
+
+    public void setPetType(PetType petType) {
+        this.petType = petType;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public long getVisits() {
+        return visits;
+    }
+
+    public void setVisits(long visits) {
+        this.visits = visits;
+    }
+
+    @Override
+    public String toString() {
+        return "PetTypeVisitsDTO{" +
+            "petType='" + getPetType() + "'" +
+            ", month='" + getMonth() + "'" +
+            ", visits=" + getVisits() +
+            "}";
+    }
+}
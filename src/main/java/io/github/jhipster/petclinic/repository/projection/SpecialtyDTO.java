@@ -0,0 +1,78 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.jhipster.petclinic.domain.Specialty} entity.
+ */
+public class SpecialtyDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private String name;
+
+    public SpecialtyDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SpecialtyDTO(Long id, Long version, String name) {
+        this.id = id;
+        this.version = version;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SpecialtyDTO specialtyDTO = (SpecialtyDTO) o;
+        if (specialtyDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), specialtyDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "SpecialtyDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DTO for the {@link io.github.jhipster.petclinic.domain.Vet} entity.
+ */
+public class VetDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private String firstName;
+
+    private String lastName;
+
+    private Set<SpecialtyDTO> specialities = new HashSet<>();
+
+    public VetDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Build a vet without its specialities, which are not loaded by the constructor expressions.
+     *
+     * @param id the id.
+     * @param version the version.
+     * @param firstName the first name.
+     * @param lastName the last name.
+     */
+    public VetDTO(Long id, Long version, String firstName, String lastName) {
+        this.id = id;
+        this.version = version;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public Set<SpecialtyDTO> getSpecialities() {
+        return specialities;
+    }
+
+    public void setSpecialities(Set<SpecialtyDTO> specialities) {
+        this.specialities = specialities;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        VetDTO vetDTO = (VetDTO) o;
+        if (vetDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), vetDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "VetDTO{" +
+            "id=" + getId() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", specialities=" + getSpecialities() +
+            "}";
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.jhipster.petclinic.domain.Visit} entity, its pet and its vet only holding an id.
+ */
+public class VisitDTO implements Serializable {
+
+    private Long id;
+
+    private Long version;
+
+    private LocalDate date;
+
+    private String description;
+
+    private PetDTO pet;
+
+    private VetDTO vet;
+
+    private Integer slot;
+
+    public VisitDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VisitDTO(Long id, Long version, LocalDate date, String description, Long petId, Long vetId, Integer slot) {
+        this.id = id;
+        this.version = version;
+        this.date = date;
+        this.description = description;
+        if (petId != null) {
+            this.pet = new PetDTO();
+            this.pet.setId(petId);
+        }
+        if (vetId != null) {
+            this.vet = new VetDTO();
+            this.vet.setId(vetId);
+        }
+        this.slot = slot;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public PetDTO getPet() {
+        return pet;
+    }
+
+    public void setPet(PetDTO pet) {
+        this.pet = pet;
+    }
+
+    public VetDTO getVet() {
+        return vet;
+    }
+
+    public void setVet(VetDTO vet) {
+        this.vet = vet;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        VisitDTO visitDTO = (VisitDTO) o;
+        if (visitDTO.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), visitDTO.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "VisitDTO{" +
+            "id=" + getId() +
+            ", date='" + getDate() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", petId=" + (getPet() != null ? getPet().getId() : null) +
+            ", vetId=" + (getVet() != null ? getVet().getId() : null) +
+            ", slot=" + getSlot() +
+            "}";
+    }
+}
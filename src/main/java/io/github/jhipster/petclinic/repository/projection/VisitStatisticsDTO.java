@@ -0,0 +1,47 @@
+package io.github.jhipster.petclinic.repository.projection;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The number of visits and the last visit of a pet, or of the pets of an owner.
+ */
+public class VisitStatisticsDTO implements Serializable {
+
+    private long visits;
+
+    private LocalDate lastVisitDate;
+
+    public VisitStatisticsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VisitStatisticsDTO(long visits, LocalDate lastVisitDate) {
+        this.visits = visits;
+        this.lastVisitDate = lastVisitDate;
+    }
+
+    public long getVisits() {
+        return visits;
+    }
+
+    public void setVisits(long visits) {
+        this.visits = visits;
+    }
+
+    public LocalDate getLastVisitDate() {
+        return lastVisitDate;
+    }
+
+    public void setLastVisitDate(LocalDate lastVisitDate) {
+        this.lastVisitDate = lastVisitDate;
+    }
+
+    @Override
+    public String toString() {
+        return "VisitStatisticsDTO{" +
+            "visits=" + getVisits() +
+            ", lastVisitDate='" + getLastVisitDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Projections of the entities read by the repositories, which are neither managed nor cached.
+ */
+package io.github.jhipster.petclinic.repository.projection;
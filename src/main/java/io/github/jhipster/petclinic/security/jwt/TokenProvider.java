@@ -1,8 +1,12 @@
 package io.github.jhipster.petclinic.security.jwt;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
@@ -16,7 +20,14 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -36,8 +47,36 @@ public class TokenProvider {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    /**
+     * Claims of the already verified tokens, keyed by the SHA-256 digest of the token, and evicted at their expiration.
+     */
+    private final Cache<ByteBuffer, CachedClaims> authenticationCache;
+
+    private final int maxCachedAuthentications;
+
+    private final Counter cacheHits;
+
+    private final Counter cacheMisses;
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         MeterRegistry meterRegistry) {
         this.jHipsterProperties = jHipsterProperties;
+        this.maxCachedAuthentications = applicationProperties.getSecurity().getJwtCache().getMaxEntries();
+        this.authenticationCache = Caffeine.newBuilder()
+            .maximumSize(Math.max(maxCachedAuthentications, 0))
+            .expireAfter(new ClaimsExpiry())
+            .build();
+        this.cacheHits = Counter.builder("security.jwt.cache")
+            .description("Verified JWT tokens lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        this.cacheMisses = Counter.builder("security.jwt.cache")
+            .description("Verified JWT tokens lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", authenticationCache, Cache::estimatedSize)
+            .description("Number of verified JWT tokens in the cache")
+            .register(meterRegistry);
     }
 
     @PostConstruct
@@ -86,25 +125,120 @@ public class TokenProvider {
             .setSigningKey(key)
             .parseClaimsJws(token)
             .getBody();
+        return toAuthentication(token, claims);
+    }
 
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
 
-        User principal = new User(claims.getSubject(), "", authorities);
+    /**
+     * Validate the token and build its {@link Authentication}, parsing and verifying it only once.
+     * <p>
+     * The claims are cached until the expiration of the token, so a token sent again is only hashed. Each call gets
+     * its own authentication, which the security context may change.
+     *
+     * @param token the JWT token.
+     * @return the authentication of the token, or empty if the token is not valid.
+     */
+    public Optional<Authentication> getValidAuthentication(String token) {
+        if (maxCachedAuthentications <= 0) {
+            return parseClaims(token).map(claims -> toAuthentication(token, claims));
+        }
+        ByteBuffer digest = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = authenticationCache.getIfPresent(digest);
+        if (cached != null) {
+            // The cache evicts the expired tokens lazily
+            if (cached.expiration > now) {
+                cacheHits.increment();
+                return Optional.of(toAuthentication(token, cached.subject, cached.authorities));
+            }
+            authenticationCache.asMap().remove(digest, cached);
+        }
+        cacheMisses.increment();
+        Optional<Claims> claims = parseClaims(token);
+        if (!claims.isPresent()) {
+            return Optional.empty();
+        }
+        List<GrantedAuthority> authorities = toAuthorities(claims.get());
+        Date expiration = claims.get().getExpiration();
+        if (expiration != null) {
+            authenticationCache.put(digest, new CachedClaims(claims.get().getSubject(), authorities, expiration.getTime()));
+        }
+        return Optional.of(toAuthentication(token, claims.get().getSubject(), authorities));
+    }
+
+    private Authentication toAuthentication(String token, Claims claims) {
+        return toAuthentication(token, claims.getSubject(), toAuthorities(claims));
+    }
+
+    private static Authentication toAuthentication(String token, String subject, List<GrantedAuthority> authorities) {
+        User principal = new User(subject, "", authorities);
 
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private static List<GrantedAuthority> toAuthorities(Claims claims) {
+        return Collections.unmodifiableList(Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList()));
+    }
+
+    private Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Optional.of(Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody());
         } catch (JwtException | IllegalArgumentException e) {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", e);
         }
-        return false;
+        return Optional.empty();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The immutable claims of a verified token, from which each hit builds a new authentication.
+     */
+    private static class CachedClaims {
+
+        private final String subject;
+
+        private final List<GrantedAuthority> authorities;
+
+        private final long expiration;
+
+        CachedClaims(String subject, List<GrantedAuthority> authorities, long expiration) {
+            this.subject = subject;
+            this.authorities = authorities;
+            this.expiration = expiration;
+        }
+    }
+
+    /**
+     * Expires the claims of a token at the expiration of the token.
+     */
+    private static class ClaimsExpiry implements Expiry<ByteBuffer, CachedClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer digest, CachedClaims claims, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(claims.expiration - System.currentTimeMillis(), 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer digest, CachedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer digest, CachedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -1,20 +1,37 @@
 package io.github.jhipster.petclinic.service;
 
 import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.petclinic.config.ApplicationProperties;
 import io.github.jhipster.petclinic.config.audit.AuditEventConverter;
+import io.github.jhipster.petclinic.repository.AuditEventPartitionRepository;
+import io.github.jhipster.petclinic.repository.FileAuditEventRepository;
 import io.github.jhipster.petclinic.repository.PersistenceAuditEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.security.AuthenticationAuditListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing audit events.
@@ -33,41 +50,148 @@ public class AuditEventService {
 
     private final AuditEventConverter auditEventConverter;
 
+    private final AuditEventPartitionRepository auditEventPartitionRepository;
+
+    private final Optional<FileAuditEventRepository> fileAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int purgeChunkSize;
+
+    private final int partitionsAhead;
+
+    private final Counter purgedEvents;
+
+    private final Timer purgeTimer;
+
     public AuditEventService(
         PersistenceAuditEventRepository persistenceAuditEventRepository,
-        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties) {
+        AuditEventConverter auditEventConverter, JHipsterProperties jhipsterProperties,
+        AuditEventPartitionRepository auditEventPartitionRepository,
+        Optional<FileAuditEventRepository> fileAuditEventRepository, ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
         this.jHipsterProperties = jhipsterProperties;
+        this.auditEventPartitionRepository = auditEventPartitionRepository;
+        this.fileAuditEventRepository = fileAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.purgeChunkSize = applicationProperties.getAuditEvents().getPurgeChunkSize();
+        this.partitionsAhead = applicationProperties.getAuditEvents().getPartitionsAhead();
+        this.purgedEvents = Counter.builder("audit.events.purged")
+            .description("Audit events deleted by the retention purge")
+            .register(meterRegistry);
+        this.purgeTimer = Timer.builder("audit.events.purge")
+            .description("Duration of the retention purge of the audit events")
+            .register(meterRegistry);
     }
 
     /**
      * Old audit events should be automatically deleted after 30 days.
      *
      * This is scheduled to get fired at 12:00 (am).
+     * <p>
+     * When the table is partitioned, the expired monthly partitions are dropped first. The remaining
+     * events are deleted by chunks, each in its own transaction when no transaction is already running,
+     * so the locks on the audit tables are only held for one chunk.
      */
     @Scheduled(cron = "0 0 12 * * ?")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeOldAuditEvents() {
-        persistenceAuditEventRepository
-            .findByAuditEventDateBefore(Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS))
-            .forEach(auditEvent -> {
-                log.debug("Deleting audit data {}", auditEvent);
-                persistenceAuditEventRepository.delete(auditEvent);
-            });
+        Instant before = Instant.now().minus(jHipsterProperties.getAuditEvents().getRetentionPeriod(), ChronoUnit.DAYS);
+        purgeTimer.record(() -> {
+            long total = auditEventPartitionRepository.dropMonthlyPartitionsBefore(before, purgeChunkSize) +
+                fileAuditEventRepository.map(repository -> repository.deleteSegmentsBefore(before)).orElse(0L);
+            purgedEvents.increment(total);
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(status -> removeAuditEventsChunk(before));
+                purgedEvents.increment(deleted);
+                total += deleted;
+                log.debug("Deleted {} audit events older than {}", total, before);
+            } while (deleted == purgeChunkSize);
+            log.info("Deleted {} audit events older than {}", total, before);
+        });
+    }
+
+    /**
+     * Create the monthly partitions of the audit events in advance, when the table is partitioned.
+     *
+     * This is scheduled to get fired every day at 00:30 (am), so a failed run is retried well before the
+     * next month starts. Every instance of the application fires it: the first one taking the database lock
+     * of the rollover creates the partitions, the others skip it. The lock is held by the connection of a
+     * transaction, which the DDL statements implicitly commit without releasing it.
+     */
+    @Scheduled(cron = "0 30 0 * * ?")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rolloverAuditEventPartitions() {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        Integer created = transactionTemplate.execute(status -> {
+            if (!auditEventPartitionRepository.tryLockRollover()) {
+                log.debug("The audit event partitions are created by another instance");
+                return 0;
+            }
+            try {
+                return auditEventPartitionRepository.createMonthlyPartitions(currentMonth, currentMonth.plusMonths(partitionsAhead));
+            } finally {
+                auditEventPartitionRepository.unlockRollover();
+            }
+        });
+        log.debug("Created {} audit event partitions", created);
+    }
+
+    private int removeAuditEventsChunk(Instant before) {
+        List<Long> ids = persistenceAuditEventRepository.findIdsByAuditEventDateBefore(before, PageRequest.of(0, purgeChunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        persistenceAuditEventRepository.deleteDataByEventIdIn(ids);
+        return persistenceAuditEventRepository.deleteByIdIn(ids);
     }
 
     public Page<AuditEvent> findAll(Pageable pageable) {
+        if (fileAuditEventRepository.isPresent()) {
+            return fileAuditEventRepository.get().findAll(pageable);
+        }
         return persistenceAuditEventRepository.findAll(pageable)
             .map(auditEventConverter::convertToAuditEvent);
     }
 
     public Page<AuditEvent> findByDates(Instant fromDate, Instant toDate, Pageable pageable) {
+        if (fileAuditEventRepository.isPresent()) {
+            return fileAuditEventRepository.get().findByDates(fromDate, toDate, pageable);
+        }
         return persistenceAuditEventRepository.findAllByAuditEventDateBetween(fromDate, toDate, pageable)
             .map(auditEventConverter::convertToAuditEvent);
     }
 
+    /**
+     * Get the principals authenticated since a date, the most recently authenticated first.
+     *
+     * @param after the date after which the principals were authenticated.
+     * @param max the maximum number of principals.
+     * @return the principals.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findRecentlyAuthenticatedPrincipals(Instant after, int max) {
+        if (fileAuditEventRepository.isPresent()) {
+            List<AuditEvent> auditEvents = fileAuditEventRepository.get()
+                .find(null, after, AuthenticationAuditListener.AUTHENTICATION_SUCCESS);
+            Set<String> principals = new LinkedHashSet<>();
+            for (int i = auditEvents.size() - 1; i >= 0 && principals.size() < max; i--) {
+                principals.add(auditEvents.get(i).getPrincipal());
+            }
+            return new ArrayList<>(principals);
+        }
+        return persistenceAuditEventRepository.findPrincipalsByAuditEventTypeAndAuditEventDateAfter(
+            AuthenticationAuditListener.AUTHENTICATION_SUCCESS, after, PageRequest.of(0, max));
+    }
+
     public Optional<AuditEvent> find(Long id) {
+        if (fileAuditEventRepository.isPresent()) {
+            return fileAuditEventRepository.get().find(id);
+        }
         return persistenceAuditEventRepository.findById(id)
             .map(auditEventConverter::convertToAuditEvent);
     }
@@ -0,0 +1,159 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.service.dto.BatchItemResultDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for writing batches of entities in a single transaction.
+ */
+@Service
+@Transactional
+public class BatchService {
+
+    /**
+     * Maximum number of entities accepted in a single batch.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(BatchService.class);
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final int chunkSize;
+
+    public BatchService(EntityManager entityManager, Validator validator,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validate and save a batch of entities: entities without an id are created, the others are updated.
+     * <p>
+     * Invalid entities, and entities whose id doesn't exist, are reported and skipped. The valid ones are flushed and detached by chunks of
+     * {@code hibernate.jdbc.batch_size} entities, so each chunk is sent as a JDBC batch and the
+     * persistence context does not grow with the size of the batch. A database error rolls back the whole batch.
+     *
+     * @param entities the entities to save.
+     * @param idExtractor the function giving the id of an entity.
+     * @param <T> the type of the entities.
+     * @return the result of each entity, in the order of the batch.
+     */
+    public <T> List<BatchItemResultDTO> saveAll(List<T> entities, Function<T, Long> idExtractor) {
+        return saveAll(entities, idExtractor, null);
+    }
+
+    /**
+     * Validate and save a batch of entities, the entities supported by a writer being validated and saved by it.
+     * <p>
+     * An entity the writer couldn't save because of a conflict is reported and skipped.
+     *
+     * @param entities the entities to save.
+     * @param idExtractor the function giving the id of an entity.
+     * @param writer the writer of some of the entities, or null.
+     * @param <T> the type of the entities.
+     * @return the result of each entity, in the order of the batch.
+     * @see #saveAll(List, Function)
+     */
+    public <T> List<BatchItemResultDTO> saveAll(List<T> entities, Function<T, Long> idExtractor, EntityWriter<T> writer) {
+        List<BatchItemResultDTO> results = new ArrayList<>(entities.size());
+        int pending = 0;
+        for (int index = 0; index < entities.size(); index++) {
+            T entity = entities.get(index);
+            Set<ConstraintViolation<T>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                results.add(BatchItemResultDTO.invalid(index, idExtractor.apply(entity), violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.toList())));
+                continue;
+            }
+            Long id = idExtractor.apply(entity);
+            // A merge would insert an entity whose id doesn't exist, with a new id. The entity found is then merged
+            // into without being read again.
+            if (id != null && entityManager.find(entity.getClass(), id) == null) {
+                results.add(BatchItemResultDTO.notFound(index, id));
+                continue;
+            }
+            if (writer != null && writer.supports(entity)) {
+                List<String> errors = writer.validate(entity);
+                if (!errors.isEmpty()) {
+                    results.add(BatchItemResultDTO.invalid(index, id, errors));
+                    continue;
+                }
+                Optional<T> written = writer.write(entity);
+                if (!written.isPresent()) {
+                    results.add(BatchItemResultDTO.conflict(index, id, Collections.singletonList(writer.conflict(entity))));
+                    continue;
+                }
+                results.add(id == null ? BatchItemResultDTO.created(index, idExtractor.apply(written.get()))
+                    : BatchItemResultDTO.updated(index, id));
+            } else if (id == null) {
+                entityManager.persist(entity);
+                results.add(BatchItemResultDTO.created(index, idExtractor.apply(entity)));
+            } else {
+                results.add(BatchItemResultDTO.updated(index, idExtractor.apply(entityManager.merge(entity))));
+            }
+            if (++pending % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        log.debug("Saved {} of {} entities", pending, entities.size());
+        return results;
+    }
+
+    /**
+     * Writer of the entities of a batch which can't simply be persisted or merged.
+     *
+     * @param <T> the type of the entities.
+     */
+    public interface EntityWriter<T> {
+
+        /**
+         * @param entity a valid entity of the batch.
+         * @return {@code true} if the entity is validated and saved by this writer.
+         */
+        boolean supports(T entity);
+
+        /**
+         * @param entity a supported entity.
+         * @return the errors making the entity invalid, or an empty list if it's valid.
+         */
+        List<String> validate(T entity);
+
+        /**
+         * Save an entity in the transaction of the batch.
+         *
+         * @param entity a valid supported entity.
+         * @return the saved entity, or empty if it conflicts with an entity already saved, nothing being written then.
+         */
+        Optional<T> write(T entity);
+
+        /**
+         * @param entity an entity which couldn't be written.
+         * @return the error reporting the conflict.
+         */
+        String conflict(T entity);
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.repository.AuthorityRepository;
+import io.github.jhipster.petclinic.repository.SpecialtyRepository;
+import io.github.jhipster.petclinic.repository.UserRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service warming up the caches after a start, so the first requests don't all go to the database.
+ * <p>
+ * The authorities, the specialties with their vets, the vets with their specialities and the recently
+ * authenticated users are loaded into the second-level and {@code usersByLogin} caches by a few threads.
+ * The loads are throttled to a maximum number of queries per second, to leave the database connections
+ * to the first requests.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final AuthorityRepository authorityRepository;
+
+    private final SpecialtyRepository specialtyRepository;
+
+    private final VetRepository vetRepository;
+
+    private final UserRepository userRepository;
+
+    private final AuditEventService auditEventService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private final Timer warmUpTimer;
+
+    public CacheWarmUpService(AuthorityRepository authorityRepository, SpecialtyRepository specialtyRepository,
+                              VetRepository vetRepository, UserRepository userRepository,
+                              AuditEventService auditEventService, PlatformTransactionManager transactionManager,
+                              ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.authorityRepository = authorityRepository;
+        this.specialtyRepository = specialtyRepository;
+        this.vetRepository = vetRepository;
+        this.userRepository = userRepository;
+        this.auditEventService = auditEventService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getCache().getWarmUp();
+        this.warmUpTimer = Timer.builder("cache.warmup")
+            .description("Duration of the cache warm-up after a start")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Start the warm-up in the background once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "cache-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Warm up the caches, and wait for the end of the warm-up.
+     * <p>
+     * A failed load is logged and skipped, the warm-up only being an optimization.
+     *
+     * @return the number of successful loads.
+     */
+    public int warmUp() {
+        long start = System.nanoTime();
+        List<Runnable> loads = new ArrayList<>();
+        loads.add(authorityRepository::findAll);
+        for (SpecialtyDTO specialty : specialtyRepository.findAllDto()) {
+            loads.add(() -> specialtyRepository.findById(specialty.getId())
+                .ifPresent(entity -> Hibernate.initialize(entity.getVets())));
+        }
+        Slice<VetDTO> vets;
+        long lastId = 0;
+        do {
+            vets = vetRepository.findDtoByIdGreaterThan(lastId, PageRequest.of(0, properties.getChunkSize()));
+            List<Long> ids = vets.stream().map(VetDTO::getId).collect(Collectors.toList());
+            if (!ids.isEmpty()) {
+                loads.add(() -> vetRepository.findAllWithEagerRelationshipsByIdIn(ids));
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (vets.hasNext());
+        Instant after = Instant.now().minus(properties.getRecentLoginPeriod());
+        for (String login : auditEventService.findRecentlyAuthenticatedPrincipals(after, properties.getMaxUsers())) {
+            loads.add(() -> userRepository.findOneWithAuthoritiesByLogin(login));
+        }
+
+        int loaded = run(loads);
+        long duration = System.nanoTime() - start;
+        warmUpTimer.record(duration, TimeUnit.NANOSECONDS);
+        log.info("Warmed up the caches with {} of {} loads in {} ms", loaded, loads.size(),
+            TimeUnit.NANOSECONDS.toMillis(duration));
+        return loaded;
+    }
+
+    private int run(List<Runnable> loads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        AtomicLong nextStart = new AtomicLong(System.nanoTime());
+        AtomicInteger loaded = new AtomicInteger();
+        try {
+            CompletableFuture.allOf(loads.stream()
+                .map(load -> CompletableFuture.runAsync(() -> {
+                    try {
+                        throttle(nextStart, interval);
+                        transactionTemplate.execute(status -> {
+                            load.run();
+                            return null;
+                        });
+                        loaded.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        log.warn("Could not warm up the caches: {}", e.toString());
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new))
+                .join();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded.get();
+    }
+
+    /**
+     * Wait for the start time of the next load, the loads being spaced by the given interval.
+     */
+    private static void throttle(AtomicLong nextStart, long interval) throws InterruptedException {
+        long now = System.nanoTime();
+        long start = Math.max(now, nextStart.getAndUpdate(next -> Math.max(next, now) + interval));
+        TimeUnit.NANOSECONDS.sleep(start - now);
+    }
+}
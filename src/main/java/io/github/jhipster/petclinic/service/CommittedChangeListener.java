@@ -0,0 +1,124 @@
+package io.github.jhipster.petclinic.service;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Listener of the committed changes of some entities.
+ * <p>
+ * Hibernate calls the post-commit listeners for all the entities once a change of any of them is committed,
+ * so the changes of the other entities are skipped, and nothing is done for the changes whose commit failed.
+ */
+abstract class CommittedChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+    PostCommitDeleteEventListener {
+
+    private final Set<Class<?>> entityClasses;
+
+    CommittedChangeListener(Class<?>... entityClasses) {
+        this.entityClasses = new HashSet<>(Arrays.asList(entityClasses));
+    }
+
+    /**
+     * Append a listener of the inserts, updates and deletes of the entities to the listeners of the given events.
+     *
+     * @param entityManagerFactory the factory of the persistence unit.
+     * @param listener the listener.
+     * @param insert the event of the inserts, flushed or committed.
+     * @param update the event of the updates.
+     * @param delete the event of the deletes.
+     */
+    static <T extends PostInsertEventListener & PostUpdateEventListener & PostDeleteEventListener> void appendListeners(
+        EntityManagerFactory entityManagerFactory, T listener, EventType<PostInsertEventListener> insert,
+        EventType<PostUpdateEventListener> update, EventType<PostDeleteEventListener> delete) {
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        eventListenerRegistry.appendListeners(insert, listener);
+        eventListenerRegistry.appendListeners(update, listener);
+        eventListenerRegistry.appendListeners(delete, listener);
+    }
+
+    /**
+     * Append this listener to the listeners of the committed changes.
+     *
+     * @param entityManagerFactory the factory of the persistence unit.
+     */
+    void register(EntityManagerFactory entityManagerFactory) {
+        appendListeners(entityManagerFactory, this, EventType.POST_COMMIT_INSERT, EventType.POST_COMMIT_UPDATE,
+            EventType.POST_COMMIT_DELETE);
+    }
+
+    /**
+     * Handle a committed change of an entity.
+     *
+     * @param persister the persister of the entity.
+     * @param previousState the state of the entity before the change, or {@code null} if it was inserted.
+     * @param state the state of the entity after the change, or {@code null} if it was deleted.
+     */
+    protected abstract void onCommit(EntityPersister persister, Object[] previousState, Object[] state);
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (requiresPostCommitHandling(event.getPersister())) {
+            onCommit(event.getPersister(), null, event.getState());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (requiresPostCommitHandling(event.getPersister())) {
+            onCommit(event.getPersister(), event.getOldState(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (requiresPostCommitHandling(event.getPersister())) {
+            onCommit(event.getPersister(), event.getDeletedState(), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityClasses.contains(persister.getMappedClass());
+    }
+
+    /**
+     * Still abstract in Hibernate 5.4, and only called by the default {@link #requiresPostCommitHandling}.
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+}
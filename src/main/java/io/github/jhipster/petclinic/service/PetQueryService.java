@@ -0,0 +1,139 @@
+package io.github.jhipster.petclinic.service;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.jhipster.service.QueryService;
+
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.*; // for static metamodels
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
+import io.github.jhipster.petclinic.service.dto.PetCriteria;
+
+/**
+ * Service for executing complex queries for {@link Pet} entities in the database.
+ * The main input is a {@link PetCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link PetDTO} or a {@link Page} of {@link PetDTO} which fulfills the criteria,
+ * projected by the query so that no entity is loaded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PetQueryService extends QueryService<Pet> {
+
+    private final Logger log = LoggerFactory.getLogger(PetQueryService.class);
+
+    private final PetRepository petRepository;
+
+    private final EntityManager entityManager;
+
+    public PetQueryService(PetRepository petRepository, EntityManager entityManager) {
+        this.petRepository = petRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Return a {@link List} of {@link PetDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<PetDTO> findByCriteria(PetCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Pet> specification = createSpecification(criteria);
+        return createDtoQuery(specification, Sort.unsorted()).getResultList();
+    }
+
+    /**
+     * Return a {@link Page} of {@link PetDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<PetDTO> findByCriteria(PetCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Pet> specification = createSpecification(criteria);
+        TypedQuery<PetDTO> query = createDtoQuery(specification, page.getSort());
+        if (page.isPaged()) {
+            query.setFirstResult((int) page.getOffset());
+            query.setMaxResults(page.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), page, () -> petRepository.count(specification));
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(PetCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Pet> specification = createSpecification(criteria);
+        return petRepository.count(specification);
+    }
+
+    private TypedQuery<PetDTO> createDtoQuery(Specification<Pet> specification, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PetDTO> query = builder.createQuery(PetDTO.class);
+        Root<Pet> root = query.from(Pet.class);
+        Join<Pet, Owner> owner = root.join(Pet_.owner, JoinType.LEFT);
+        query.select(builder.construct(PetDTO.class,
+            root.get(Pet_.id), root.get(Pet_.version), root.get(Pet_.name), root.get(Pet_.birthDate), root.get(Pet_.type), owner.get(Owner_.id)));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Function to convert {@link PetCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Pet> createSpecification(PetCriteria criteria) {
+        Specification<Pet> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Pet_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Pet_.name));
+            }
+            if (criteria.getBirthDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getBirthDate(), Pet_.birthDate));
+            }
+            if (criteria.getType() != null) {
+                specification = specification.and(buildSpecification(criteria.getType(), Pet_.type));
+            }
+            if (criteria.getOwnerId() != null) {
+                specification = specification.and(buildSpecification(criteria.getOwnerId(),
+                    root -> root.join(Pet_.owner, JoinType.LEFT).get(Owner_.id)));
+            }
+        }
+        return specification;
+    }
+}
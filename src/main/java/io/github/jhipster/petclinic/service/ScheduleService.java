@@ -0,0 +1,534 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.repository.projection.AppointmentDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+import io.github.jhipster.petclinic.service.dto.SlotDTO;
+
+import org.hibernate.Hibernate;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.tuple.entity.EntityMetamodel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service scheduling the visits in the time slots of the vets.
+ * <p>
+ * The booked slots from today are kept in a {@link VetScheduleIndex}, loaded on the first use: a slot is booked
+ * in the index before its visit is saved, so that a conflict is rejected without querying the visits, and
+ * released if the transaction rolls back. The other committed changes of the visits, like their deletions,
+ * are applied to the index by a Hibernate listener. A unique constraint on the vet, the day
+ * and the slot of the visits still rejects the conflicts between the instances of the application.
+ */
+@Service
+@Transactional
+public class ScheduleService {
+
+    private final Logger log = LoggerFactory.getLogger(ScheduleService.class);
+
+    private final VisitRepository visitRepository;
+
+    private final PetRepository petRepository;
+
+    private final VetRepository vetRepository;
+
+    private final VetDirectoryService vetDirectoryService;
+
+    private final ApplicationProperties.Schedule properties;
+
+    /**
+     * Number of locks of the bookings, a power of two.
+     */
+    private static final int LOCK_STRIPES = 256;
+
+    /**
+     * The unique constraint of the slots of a vet on a day.
+     */
+    private static final String SLOT_CONSTRAINT = "ux_visit_vet_date_slot";
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate loadTransactionTemplate;
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    private volatile VetScheduleIndex index;
+
+    private final BatchService.EntityWriter<Visit> batchWriter = new BatchWriter();
+
+    public ScheduleService(VisitRepository visitRepository, PetRepository petRepository, VetRepository vetRepository,
+                           VetDirectoryService vetDirectoryService, ApplicationProperties applicationProperties,
+                           PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+        this.visitRepository = visitRepository;
+        this.petRepository = petRepository;
+        this.vetRepository = vetRepository;
+        this.vetDirectoryService = vetDirectoryService;
+        this.properties = applicationProperties.getSchedule();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.loadTransactionTemplate = new TransactionTemplate(transactionManager);
+        // A new read-write transaction reads the primary database, which has the changes committed until now
+        this.loadTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        new VisitChangeListener().register(entityManagerFactory);
+    }
+
+    /**
+     * Find the first free slot of the vets having a specialty.
+     *
+     * @param specialtyId the id of the specialty.
+     * @param from the first day to search, today if it's before.
+     * @return the first free slot in the searched days, the vet with the lowest id winning the ties,
+     * or empty if there isn't any or if the specialty doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SlotDTO> findFirstFreeSlot(Long specialtyId, LocalDate from) {
+        log.debug("Request to find the first free slot of Specialty {} from {}", specialtyId, from);
+        Optional<List<VetDTO>> vets = vetDirectoryService.getDirectory().findAllBySpecialtyId(specialtyId);
+        if (!vets.isPresent()) {
+            return Optional.empty();
+        }
+        VetScheduleIndex index = getIndex();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate firstDay = from.isBefore(now.toLocalDate()) ? now.toLocalDate() : from;
+        for (int days = 0; days < properties.getSearchDays(); days++) {
+            LocalDate date = firstDay.plusDays(days);
+            int fromSlot = firstFutureSlot(date, now);
+            SlotDTO first = null;
+            for (VetDTO vet : vets.get()) {
+                OptionalInt slot = index.findFirstFreeSlot(vet.getId(), date, fromSlot);
+                if (slot.isPresent() && (first == null || slot.getAsInt() < first.getSlot())) {
+                    first = slot(vet.getId(), date, slot.getAsInt());
+                }
+            }
+            if (first != null) {
+                return Optional.of(first);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find the free slots of a vet in a day.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @return the free slots which haven't started yet, or empty if the vet doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<SlotDTO>> findFreeSlots(Long vetId, LocalDate date) {
+        log.debug("Request to find the free slots of Vet {} on {}", vetId, date);
+        if (!vetDirectoryService.getDirectory().findById(vetId).isPresent()) {
+            return Optional.empty();
+        }
+        int fromSlot = firstFutureSlot(date, LocalDateTime.now());
+        return Optional.of(getIndex().findFreeSlots(vetId, date).stream()
+            .filter(slot -> slot >= fromSlot)
+            .map(slot -> slot(vetId, date, slot))
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Check that a slot exists and hasn't started yet.
+     *
+     * @param date the day.
+     * @param slot the slot in the day.
+     * @return {@code true} if the slot can be booked.
+     */
+    public boolean isBookable(LocalDate date, int slot) {
+        return isValidSlot(slot) && slot >= firstFutureSlot(date, LocalDateTime.now());
+    }
+
+    /**
+     * Check that a slot exists, whatever its day.
+     *
+     * @param slot the slot in the day.
+     * @return {@code true} if the slot is one of the slots of a day.
+     */
+    public boolean isValidSlot(int slot) {
+        return slot >= 0 && slot < properties.getSlotsPerDay();
+    }
+
+    /**
+     * Book a slot for a visit.
+     *
+     * @param appointment the visit, for an existing pet and vet, and a bookable slot.
+     * @return the scheduled visit.
+     * @throws SlotAlreadyBookedException if the slot is already booked.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AppointmentDTO book(AppointmentDTO appointment) {
+        log.debug("Request to book the slot of Appointment : {}", appointment);
+        // The references to the pet and the vet are taken in the transaction of each attempt
+        Visit visit = schedule(() -> new Visit()
+            .date(appointment.getDate())
+            .description(appointment.getDescription())
+            .pet(petRepository.getOne(appointment.getPetId()))
+            .vet(vetRepository.getOne(appointment.getVetId()))
+            .slot(appointment.getSlot()));
+        AppointmentDTO result = new AppointmentDTO(visit.getId(), appointment.getPetId(), appointment.getVetId(),
+            visit.getDate(), visit.getSlot(), visit.getDescription());
+        result.setStart(start(visit.getDate(), visit.getSlot()));
+        return result;
+    }
+
+    /**
+     * Save a visit, booking its slot if it's a new one.
+     * <p>
+     * The bookings of a vet in a day are serialized by a lock, held until the end of their transaction, so that
+     * a booking waits for a booking of the same slot to be committed or rolled back instead of being rejected.
+     * Without a current transaction, a booking failing on a transient conflict, like a deadlock, is retried in
+     * a new one; a conflict with a stale version of the visit isn't.
+     *
+     * @param visit the visit, for an existing pet and vet, and a valid slot.
+     * @return the saved visit.
+     * @throws SlotAlreadyBookedException if the slot is already booked.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the visit was updated since it was read.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Visit schedule(Visit visit) {
+        log.debug("Request to schedule Visit : {}", visit);
+        Long id = visit.getId();
+        long version = visit.getVersion();
+        return schedule(() -> {
+            // Undo the changes of a rolled back attempt
+            visit.setId(id);
+            visit.setVersion(version);
+            return visit;
+        });
+    }
+
+    /**
+     * Get the writer of the scheduled visits of a batch, saving them in the transaction of the batch.
+     * <p>
+     * A visit is rejected as invalid if its pet or its vet doesn't exist, or if its slot can't be booked, and as
+     * a conflict if its slot is already booked, nothing being written then. A slot booked by another instance
+     * of the application is only rejected by the database, rolling back the whole batch.
+     *
+     * @return the writer of the visits having a vet and a slot.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchService.EntityWriter<Visit> getBatchWriter() {
+        return batchWriter;
+    }
+
+    private Visit schedule(Supplier<Visit> visit) {
+        boolean retriable = !TransactionSynchronizationManager.isActualTransactionActive();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> save(visit.get()));
+            } catch (ConcurrencyFailureException e) {
+                if (!retriable || e instanceof OptimisticLockingFailureException || attempt >= properties.getMaxAttempts()) {
+                    throw e;
+                }
+                log.debug("Retrying the scheduling of a visit after the attempt {} failed: {}", attempt, e.getMessage());
+            }
+        }
+    }
+
+    private Visit save(Visit visit) {
+        return trySave(visit).orElseThrow(SlotAlreadyBookedException::new);
+    }
+
+    /**
+     * Save a visit, booking its slot if it's a new one.
+     *
+     * @return the saved visit, or empty if the slot is already booked in the index, nothing being written then.
+     * @throws SlotAlreadyBookedException if the slot was booked by another instance of the application.
+     */
+    private Optional<Visit> trySave(Visit visit) {
+        BookedSlot previous = null;
+        if (visit.getId() != null) {
+            previous = visitRepository.findById(visit.getId())
+                .map(stored -> BookedSlot.of(stored.getVet(), stored.getDate(), stored.getSlot(), properties.getSlotsPerDay()))
+                .orElse(null);
+        }
+        BookedSlot next = BookedSlot.of(visit.getVet(), visit.getDate(), visit.getSlot(), properties.getSlotsPerDay());
+        if (next != null && !next.equals(previous) && !book(next)) {
+            return Optional.empty();
+        }
+        try {
+            Visit saved = visitRepository.saveAndFlush(visit);
+            // The vet is lazily fetched, and returned with the visit after the transaction
+            Hibernate.initialize(saved.getVet());
+            return Optional.of(saved);
+        } catch (DataIntegrityViolationException e) {
+            if (next == null || !isSlotConflict(e)) {
+                throw e;
+            }
+            // Booked by another instance of the application
+            throw new SlotAlreadyBookedException();
+        }
+    }
+
+    /**
+     * @return {@code true} if the violated constraint is the unique slot of a vet, whose name is in the message
+     * of the database error.
+     */
+    private static boolean isSlotConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(SLOT_CONSTRAINT);
+    }
+
+    /**
+     * Book a slot in the index until the end of the current transaction, released if it's rolled back.
+     *
+     * @return {@code false} if the slot is already booked.
+     */
+    private boolean book(BookedSlot slot) {
+        VetScheduleIndex index = getIndex();
+        Lock lock = locks[stripe(slot.vetId, slot.date)];
+        try {
+            if (!lock.tryLock(properties.getLockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the bookings of Vet " + slot.vetId + " on " + slot.date);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for the bookings of Vet " + slot.vetId + " on " + slot.date, e);
+        }
+        if (!index.book(slot.vetId, slot.date, slot.slot)) {
+            lock.unlock();
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    index.release(slot.vetId, slot.date, slot.slot);
+                }
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+
+    private static int stripe(long vetId, LocalDate date) {
+        int hash = 31 * Long.hashCode(vetId) + date.hashCode();
+        return (hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Forget the past days of the index.
+     * <p>
+     * This is scheduled to run every day, at midnight.
+     */
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void evictPastDays() {
+        VetScheduleIndex current = index;
+        if (current != null) {
+            current.evictBefore(LocalDate.now());
+        }
+    }
+
+    /**
+     * @return the start of a slot.
+     */
+    public LocalDateTime start(LocalDate date, int slot) {
+        return date.atStartOfDay().plus(properties.getDayStart()).plus(properties.getSlotDuration().multipliedBy(slot));
+    }
+
+    private SlotDTO slot(Long vetId, LocalDate date, int slot) {
+        return new SlotDTO(vetId, date, slot, start(date, slot));
+    }
+
+    /**
+     * @return the first slot of a day which hasn't started yet.
+     */
+    private int firstFutureSlot(LocalDate date, LocalDateTime now) {
+        long elapsed = Duration.between(start(date, 0), now).toNanos();
+        if (elapsed < 0) {
+            return 0;
+        }
+        return (int) Math.min(properties.getSlotsPerDay(), elapsed / properties.getSlotDuration().toNanos() + 1);
+    }
+
+    private VetScheduleIndex getIndex() {
+        VetScheduleIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                index = load();
+            }
+            return index;
+        }
+    }
+
+    private VetScheduleIndex load() {
+        VetScheduleIndex loaded = new VetScheduleIndex(properties.getSlotsPerDay());
+        List<AppointmentDTO> appointments = loadTransactionTemplate.execute(status ->
+            visitRepository.findAllAppointmentsByDateGreaterThanEqual(LocalDate.now()));
+        for (AppointmentDTO appointment : appointments) {
+            if (appointment.getSlot() < loaded.getSlotsPerDay()) {
+                loaded.book(appointment.getVetId(), appointment.getDate(), appointment.getSlot());
+            }
+        }
+        log.info("Loaded {} scheduled visits", appointments.size());
+        return loaded;
+    }
+
+    /**
+     * Writer of the scheduled visits of a batch, in its transaction.
+     */
+    private class BatchWriter implements BatchService.EntityWriter<Visit> {
+
+        @Override
+        public boolean supports(Visit visit) {
+            return visit.getVet() != null && visit.getSlot() != null;
+        }
+
+        @Override
+        public List<String> validate(Visit visit) {
+            List<String> errors = new ArrayList<>();
+            if (visit.getPet() != null && (visit.getPet().getId() == null || !petRepository.existsById(visit.getPet().getId()))) {
+                errors.add("pet: not found");
+            }
+            if (visit.getVet().getId() == null || !vetDirectoryService.getDirectory().findById(visit.getVet().getId()).isPresent()) {
+                errors.add("vet: not found");
+            }
+            // A new visit is booked from now, an updated one may keep a past slot
+            if (visit.getId() == null ? !isBookable(visit.getDate(), visit.getSlot()) : !isValidSlot(visit.getSlot())) {
+                errors.add("slot: invalid");
+            }
+            return errors;
+        }
+
+        @Override
+        public Optional<Visit> write(Visit visit) {
+            return trySave(visit);
+        }
+
+        @Override
+        public String conflict(Visit visit) {
+            return "slot: already booked";
+        }
+    }
+
+    /**
+     * Listener of the committed changes of the visits.
+     */
+    private class VisitChangeListener extends CommittedChangeListener {
+
+        VisitChangeListener() {
+            super(Visit.class);
+        }
+
+        /**
+         * Release the slot of the previous state of a visit, and book the slot of its new state.
+         */
+        @Override
+        protected void onCommit(EntityPersister persister, Object[] previousState, Object[] state) {
+            synchronized (ScheduleService.this) {
+                VetScheduleIndex current = index;
+                if (current == null) {
+                    // The index will be loaded with the committed visits
+                    return;
+                }
+                BookedSlot previous = BookedSlot.of(persister.getEntityMetamodel(), previousState, current.getSlotsPerDay());
+                BookedSlot next = BookedSlot.of(persister.getEntityMetamodel(), state, current.getSlotsPerDay());
+                if (Objects.equals(previous, next)) {
+                    return;
+                }
+                if (previous != null) {
+                    current.release(previous.vetId, previous.date, previous.slot);
+                }
+                if (next != null) {
+                    current.book(next.vetId, next.date, next.slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * The slot of a state of a visit.
+     */
+    private static final class BookedSlot {
+
+        private final long vetId;
+
+        private final LocalDate date;
+
+        private final int slot;
+
+        private BookedSlot(long vetId, LocalDate date, int slot) {
+            this.vetId = vetId;
+            this.date = date;
+            this.slot = slot;
+        }
+
+        /**
+         * @return the slot of the state, or null if the visit isn't scheduled.
+         */
+        static BookedSlot of(EntityMetamodel metamodel, Object[] state, int slotsPerDay) {
+            if (state == null) {
+                return null;
+            }
+            return of(state[metamodel.getPropertyIndex("vet")], state[metamodel.getPropertyIndex("date")],
+                state[metamodel.getPropertyIndex("slot")], slotsPerDay);
+        }
+
+        /**
+         * @return the slot of the visit, or null if it isn't scheduled.
+         */
+        static BookedSlot of(Object vet, Object date, Object slot, int slotsPerDay) {
+            if (!(vet instanceof Vet) || !(date instanceof LocalDate) || !(slot instanceof Integer)
+                || ((Vet) vet).getId() == null || (Integer) slot < 0 || (Integer) slot >= slotsPerDay) {
+                return null;
+            }
+            return new BookedSlot(((Vet) vet).getId(), (LocalDate) date, (Integer) slot);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BookedSlot)) {
+                return false;
+            }
+            BookedSlot bookedSlot = (BookedSlot) o;
+            return vetId == bookedSlot.vetId && slot == bookedSlot.slot && date.equals(bookedSlot.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vetId, date, slot);
+        }
+    }
+}
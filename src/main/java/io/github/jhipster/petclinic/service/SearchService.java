@@ -0,0 +1,161 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.projection.OwnerDTO;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
+import io.github.jhipster.petclinic.service.mapper.OwnerMapper;
+import io.github.jhipster.petclinic.service.mapper.PetMapper;
+import io.github.jhipster.petclinic.service.mapper.VisitMapper;
+
+import org.apache.lucene.search.Query;
+import org.hibernate.CacheMode;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.FullTextQuery;
+import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.EntityContext;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static io.github.jhipster.petclinic.config.SearchAnalysisConfiguration.AUTOCOMPLETE_QUERY;
+import static io.github.jhipster.petclinic.config.SearchAnalysisConfiguration.FRAGMENT_QUERY;
+
+/**
+ * Service for the free text search of owners, pets and visits.
+ * <p>
+ * The embedded Lucene index is kept up to date by Hibernate Search when the entities are committed;
+ * only the matching entities are then loaded from the database, by primary key.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final int REINDEX_BATCH_SIZE = 100;
+
+    private static final int REINDEX_THREADS = 2;
+
+    private final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final EntityManager entityManager;
+
+    private final OwnerMapper ownerMapper;
+
+    private final PetMapper petMapper;
+
+    private final VisitMapper visitMapper;
+
+    public SearchService(EntityManager entityManager, OwnerMapper ownerMapper, PetMapper petMapper, VisitMapper visitMapper) {
+        this.entityManager = entityManager;
+        this.ownerMapper = ownerMapper;
+        this.petMapper = petMapper;
+        this.visitMapper = visitMapper;
+    }
+
+    /**
+     * Search the owners by name, address, city or telephone fragment.
+     *
+     * @param query the query, all of its terms having to match.
+     * @param pageable the pagination information, results being sorted by relevance.
+     * @return the matching owners.
+     */
+    public Page<OwnerDTO> searchOwners(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Owners for query {}", query);
+        QueryBuilder queryBuilder = queryBuilder(Owner.class)
+            .overridesForField("firstName", AUTOCOMPLETE_QUERY)
+            .overridesForField("lastName", AUTOCOMPLETE_QUERY)
+            .overridesForField("address", AUTOCOMPLETE_QUERY)
+            .overridesForField("city", AUTOCOMPLETE_QUERY)
+            .overridesForField("telephone", FRAGMENT_QUERY)
+            .get();
+        return search(Owner.class, queryBuilder, query, pageable, "firstName", "lastName", "address", "city", "telephone")
+            .map(ownerMapper::toDto);
+    }
+
+    /**
+     * Search the pets by name or type.
+     *
+     * @param query the query, all of its terms having to match.
+     * @param pageable the pagination information, results being sorted by relevance.
+     * @return the matching pets.
+     */
+    public Page<PetDTO> searchPets(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Pets for query {}", query);
+        QueryBuilder queryBuilder = queryBuilder(Pet.class)
+            .overridesForField("name", AUTOCOMPLETE_QUERY)
+            .overridesForField("type", AUTOCOMPLETE_QUERY)
+            .get();
+        return search(Pet.class, queryBuilder, query, pageable, "name", "type")
+            .map(petMapper::toDto);
+    }
+
+    /**
+     * Search the visits by description.
+     *
+     * @param query the query, all of its terms having to match.
+     * @param pageable the pagination information, results being sorted by relevance.
+     * @return the matching visits.
+     */
+    public Page<VisitDTO> searchVisits(String query, Pageable pageable) {
+        log.debug("Request to search for a page of Visits for query {}", query);
+        return search(Visit.class, queryBuilder(Visit.class).get(), query, pageable, "description")
+            .map(visitMapper::toDto);
+    }
+
+    /**
+     * Rebuild the whole index from the database, in the background.
+     * <p>
+     * Only needed for the rows written before the index existed, or if the index files were lost.
+     *
+     * @return the completion of the rebuild.
+     */
+    public Future<?> reindex() {
+        log.info("Rebuilding the full-text index");
+        return fullTextEntityManager().createIndexer(Owner.class, Pet.class, Visit.class)
+            .batchSizeToLoadObjects(REINDEX_BATCH_SIZE)
+            .threadsToLoadObjects(REINDEX_THREADS)
+            .cacheMode(CacheMode.IGNORE)
+            .start();
+    }
+
+    private <T> Page<T> search(Class<T> type, QueryBuilder queryBuilder, String query, Pageable pageable, String field, String... fields) {
+        Query luceneQuery;
+        try {
+            luceneQuery = queryBuilder.simpleQueryString()
+                .onFields(field, fields)
+                .withAndAsDefaultOperator()
+                .matching(query)
+                .createQuery();
+        } catch (EmptyQueryException e) {
+            return Page.empty(pageable);
+        }
+        FullTextQuery fullTextQuery = fullTextEntityManager().createFullTextQuery(luceneQuery, type);
+        if (pageable.isPaged()) {
+            fullTextQuery.setFirstResult((int) pageable.getOffset());
+            fullTextQuery.setMaxResults(pageable.getPageSize());
+        }
+        @SuppressWarnings("unchecked")
+        List<T> content = fullTextQuery.getResultList();
+        return new PageImpl<>(content, pageable, fullTextQuery.getResultSize());
+    }
+
+    private EntityContext queryBuilder(Class<?> type) {
+        return fullTextEntityManager().getSearchFactory().buildQueryBuilder().forEntity(type);
+    }
+
+    private FullTextEntityManager fullTextEntityManager() {
+        return Search.getFullTextEntityManager(entityManager);
+    }
+}
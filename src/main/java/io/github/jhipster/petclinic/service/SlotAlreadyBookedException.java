@@ -0,0 +1,11 @@
+package io.github.jhipster.petclinic.service;
+
+public class SlotAlreadyBookedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SlotAlreadyBookedException() {
+        super("The slot is already booked!");
+    }
+
+}
@@ -0,0 +1,224 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Immutable snapshot of the vets with their specialities, built by the {@link VetDirectoryService}.
+ * <p>
+ * The vets are sorted once per requested order, and the JSON of the pages is serialized on their first
+ * request, then served as is until the next snapshot. The DTOs are shared, and must not be modified.
+ */
+public final class VetDirectory {
+
+    /**
+     * Maximum number of pages kept serialized, beyond which the pages are serialized on every request.
+     */
+    static final int MAX_SERIALIZED_PAGES = 1000;
+
+    private static final Comparator<VetDTO> BY_ID = Comparator.comparing(VetDTO::getId);
+
+    private static final Map<String, Function<VetDTO, String>> TEXT_PROPERTIES;
+
+    static {
+        Map<String, Function<VetDTO, String>> textProperties = new HashMap<>();
+        textProperties.put("firstName", VetDTO::getFirstName);
+        textProperties.put("lastName", VetDTO::getLastName);
+        TEXT_PROPERTIES = Collections.unmodifiableMap(textProperties);
+    }
+
+    private final long generation;
+
+    private final List<VetDTO> vets;
+
+    private final Map<Long, VetDTO> vetsById;
+
+    private final Map<Long, List<VetDTO>> vetsBySpecialty;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<Sort, List<VetDTO>> sortedVets = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Pageable, SerializedPage> serializedPages = new ConcurrentHashMap<>();
+
+    /**
+     * Build a snapshot.
+     *
+     * @param generation the generation of the directory, incremented by every committed write of a vet or a specialty.
+     * @param vets the vets with their specialities.
+     * @param specialties all the specialties, including those without any vet.
+     * @param objectMapper the mapper serializing the pages.
+     */
+    VetDirectory(long generation, List<VetDTO> vets, List<SpecialtyDTO> specialties, ObjectMapper objectMapper) {
+        this.generation = generation;
+        List<VetDTO> vetsById = new ArrayList<>(vets);
+        vetsById.sort(BY_ID);
+        this.vets = Collections.unmodifiableList(vetsById);
+        Map<Long, VetDTO> byId = new HashMap<>();
+        for (VetDTO vet : this.vets) {
+            byId.put(vet.getId(), vet);
+        }
+        this.vetsById = Collections.unmodifiableMap(byId);
+        Map<Long, List<VetDTO>> bySpecialty = new LinkedHashMap<>();
+        for (SpecialtyDTO specialty : specialties) {
+            bySpecialty.put(specialty.getId(), new ArrayList<>());
+        }
+        for (VetDTO vet : this.vets) {
+            for (SpecialtyDTO specialty : vet.getSpecialities()) {
+                bySpecialty.computeIfAbsent(specialty.getId(), id -> new ArrayList<>()).add(vet);
+            }
+        }
+        bySpecialty.replaceAll((id, specialtyVets) -> Collections.unmodifiableList(specialtyVets));
+        this.vetsBySpecialty = Collections.unmodifiableMap(bySpecialty);
+        this.objectMapper = objectMapper;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Get a page of vets.
+     *
+     * @param pageable the pagination information, sorted by id, version, first name or last name.
+     * @return the page, or empty if the vets can't be sorted as requested.
+     */
+    public Optional<Page<VetDTO>> findAll(Pageable pageable) {
+        return sorted(pageable.getSort()).map(sorted -> {
+            int from = (int) Math.min(pageable.getOffset(), sorted.size());
+            int to = Math.min(from + pageable.getPageSize(), sorted.size());
+            return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+        });
+    }
+
+    /**
+     * Get a page of vets, with its JSON.
+     *
+     * @param pageable the pagination information, sorted by id, version, first name or last name.
+     * @return the page and its JSON, or empty if the vets can't be sorted as requested.
+     */
+    public Optional<SerializedPage> findAllSerialized(Pageable pageable) {
+        SerializedPage serializedPage = serializedPages.get(pageable);
+        if (serializedPage != null) {
+            return Optional.of(serializedPage);
+        }
+        return findAll(pageable).map(page -> {
+            SerializedPage serialized = new SerializedPage(page, serialize(page.getContent()));
+            if (serializedPages.size() < MAX_SERIALIZED_PAGES) {
+                serializedPages.putIfAbsent(pageable, serialized);
+            }
+            return serialized;
+        });
+    }
+
+    /**
+     * Get a vet.
+     *
+     * @param id the id of the vet.
+     * @return the vet, or empty if it doesn't exist.
+     */
+    public Optional<VetDTO> findById(Long id) {
+        return Optional.ofNullable(vetsById.get(id));
+    }
+
+    /**
+     * Get the vets having a specialty.
+     *
+     * @param specialtyId the id of the specialty.
+     * @return the vets sorted by id, or empty if the specialty doesn't exist.
+     */
+    public Optional<List<VetDTO>> findAllBySpecialtyId(Long specialtyId) {
+        return Optional.ofNullable(vetsBySpecialty.get(specialtyId));
+    }
+
+    private Optional<List<VetDTO>> sorted(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Optional.of(vets);
+        }
+        List<VetDTO> sorted = sortedVets.get(sort);
+        if (sorted != null) {
+            return Optional.of(sorted);
+        }
+        Comparator<VetDTO> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<VetDTO> orderComparator = comparator(order);
+            if (orderComparator == null) {
+                return Optional.empty();
+            }
+            comparator = comparator == null ? orderComparator : comparator.thenComparing(orderComparator);
+        }
+        // The id breaks the ties, for stable pages
+        List<VetDTO> sortedById = new ArrayList<>(vets);
+        sortedById.sort(comparator.thenComparing(BY_ID));
+        return Optional.of(sortedVets.computeIfAbsent(sort, key -> Collections.unmodifiableList(sortedById)));
+    }
+
+    private static Comparator<VetDTO> comparator(Sort.Order order) {
+        Comparator<VetDTO> comparator;
+        if ("id".equals(order.getProperty())) {
+            comparator = BY_ID;
+        } else if ("version".equals(order.getProperty())) {
+            comparator = Comparator.comparing(VetDTO::getVersion);
+        } else if (TEXT_PROPERTIES.containsKey(order.getProperty())) {
+            Comparator<String> textOrder = order.isIgnoreCase() ? String.CASE_INSENSITIVE_ORDER : Comparator.naturalOrder();
+            comparator = Comparator.comparing(TEXT_PROPERTIES.get(order.getProperty()), Comparator.nullsLast(textOrder));
+        } else {
+            return null;
+        }
+        return order.isAscending() ? comparator : comparator.reversed();
+    }
+
+    private byte[] serialize(List<VetDTO> content) {
+        try {
+            return objectMapper.writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A page of vets, with its JSON.
+     */
+    public static final class SerializedPage {
+
+        private final Page<VetDTO> page;
+
+        private final byte[] json;
+
+        SerializedPage(Page<VetDTO> page, byte[] json) {
+            this.page = page;
+            this.json = json;
+        }
+
+        public Page<VetDTO> getPage() {
+            return page;
+        }
+
+        /**
+         * @return the JSON of the content of the page, which must not be modified.
+         */
+        public byte[] getJson() {
+            return json;
+        }
+    }
+}
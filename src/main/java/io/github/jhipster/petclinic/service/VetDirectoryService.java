@@ -0,0 +1,137 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.SpecialtyRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+import io.github.jhipster.petclinic.service.mapper.VetMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service serving the vets and their specialities from an in-memory {@link VetDirectory}.
+ * <p>
+ * The vets and the specialties change a few times a month, so the directory is a snapshot of all of them: every
+ * committed insert, update or delete of a vet or a specialty increments the generation of the directory, and the
+ * next read rebuilds the snapshot. A change of the specialities of a vet increments its version, and is seen as
+ * an update of the vet. Until then, the reads don't access the database.
+ * <p>
+ * Only the changes committed through the Hibernate of this instance are notified: a snapshot is also rebuilt
+ * once it's older than {@code application.vet-directory.max-staleness}, so that the changes committed by the
+ * other instances of the application, or made with SQL, are seen after at most that delay.
+ */
+@Service
+public class VetDirectoryService {
+
+    private final Logger log = LoggerFactory.getLogger(VetDirectoryService.class);
+
+    private final VetRepository vetRepository;
+
+    private final SpecialtyRepository specialtyRepository;
+
+    private final VetMapper vetMapper;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long maxStalenessNanos;
+
+    private volatile VetDirectory directory;
+
+    /**
+     * The {@link System#nanoTime()} after which the current directory is rebuilt.
+     */
+    private volatile long expiresAt;
+
+    public VetDirectoryService(VetRepository vetRepository, SpecialtyRepository specialtyRepository, VetMapper vetMapper,
+                               ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                               EntityManagerFactory entityManagerFactory, ApplicationProperties applicationProperties) {
+        this.vetRepository = vetRepository;
+        this.specialtyRepository = specialtyRepository;
+        this.vetMapper = vetMapper;
+        this.objectMapper = objectMapper;
+        this.maxStalenessNanos = applicationProperties.getVetDirectory().getMaxStaleness().toNanos();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A new read-write transaction reads the primary database, which has the changes committed until now
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        new DirectoryChangeListener().register(entityManagerFactory);
+    }
+
+    /**
+     * Get the current directory, rebuilding it if a vet or a specialty was changed since the last snapshot,
+     * or if the snapshot is older than the maximum staleness.
+     *
+     * @return the directory.
+     */
+    public VetDirectory getDirectory() {
+        VetDirectory current = directory;
+        if (isCurrent(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = directory;
+            if (!isCurrent(current)) {
+                long builtAt = System.nanoTime();
+                current = build();
+                expiresAt = builtAt + maxStalenessNanos;
+                directory = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isCurrent(VetDirectory current) {
+        return current != null && current.getGeneration() == generation.get() && System.nanoTime() - expiresAt < 0;
+    }
+
+    /**
+     * Invalidate the directory, for the changes made without Hibernate.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private VetDirectory build() {
+        // Read before the snapshot, so that a change committed during the build triggers another one
+        long buildGeneration = generation.get();
+        VetDirectory built = transactionTemplate.execute(status -> {
+            List<VetDTO> vets = vetMapper.toDto(vetRepository.findAllWithEagerRelationships());
+            List<SpecialtyDTO> specialties = specialtyRepository.findAllDto();
+            return new VetDirectory(buildGeneration, vets, specialties, objectMapper);
+        });
+        log.debug("Built the vet directory {}", buildGeneration);
+        return built;
+    }
+
+    /**
+     * Listener of the committed changes of the vets and the specialties.
+     */
+    private class DirectoryChangeListener extends CommittedChangeListener {
+
+        DirectoryChangeListener() {
+            super(Vet.class, Specialty.class);
+        }
+
+        @Override
+        protected void onCommit(EntityPersister persister, Object[] previousState, Object[] state) {
+            invalidate();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.jhipster.petclinic.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of the booked time slots of the vets.
+ * <p>
+ * The slots of a vet on a day are the bits of a {@code long}, so that a slot is booked, released or checked
+ * with a single atomic operation, and the first free slot of a day is found without iterating over the slots.
+ */
+public final class VetScheduleIndex {
+
+    /**
+     * Maximum number of slots per day, the bits of a {@code long}.
+     */
+    public static final int MAX_SLOTS_PER_DAY = Long.SIZE;
+
+    private final int slotsPerDay;
+
+    private final long allSlots;
+
+    private final ConcurrentMap<Long, ConcurrentMap<LocalDate, AtomicLong>> bookedSlots = new ConcurrentHashMap<>();
+
+    public VetScheduleIndex(int slotsPerDay) {
+        if (slotsPerDay < 1 || slotsPerDay > MAX_SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("The slots per day must be between 1 and " + MAX_SLOTS_PER_DAY);
+        }
+        this.slotsPerDay = slotsPerDay;
+        this.allSlots = slotsPerDay == MAX_SLOTS_PER_DAY ? -1L : (1L << slotsPerDay) - 1;
+    }
+
+    public int getSlotsPerDay() {
+        return slotsPerDay;
+    }
+
+    /**
+     * Book a slot.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @param slot the slot in the day.
+     * @return {@code true} if the slot was free, {@code false} if it was already booked.
+     */
+    public boolean book(long vetId, LocalDate date, int slot) {
+        long bit = bit(slot);
+        return (day(vetId, date).getAndUpdate(booked -> booked | bit) & bit) == 0;
+    }
+
+    /**
+     * Release a slot.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @param slot the slot in the day.
+     */
+    public void release(long vetId, LocalDate date, int slot) {
+        long bit = bit(slot);
+        day(vetId, date).getAndUpdate(booked -> booked & ~bit);
+    }
+
+    public boolean isBooked(long vetId, LocalDate date, int slot) {
+        return (booked(vetId, date) & bit(slot)) != 0;
+    }
+
+    /**
+     * Find the first free slot of a vet in a day.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @param fromSlot the first slot to consider.
+     * @return the first free slot from {@code fromSlot}, or empty if they are all booked.
+     */
+    public OptionalInt findFirstFreeSlot(long vetId, LocalDate date, int fromSlot) {
+        if (fromSlot >= slotsPerDay) {
+            return OptionalInt.empty();
+        }
+        long free = ~booked(vetId, date) & allSlots & (-1L << Math.max(fromSlot, 0));
+        return free == 0 ? OptionalInt.empty() : OptionalInt.of(Long.numberOfTrailingZeros(free));
+    }
+
+    /**
+     * Find the free slots of a vet in a day.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @return the free slots, in order.
+     */
+    public List<Integer> findFreeSlots(long vetId, LocalDate date) {
+        List<Integer> slots = new ArrayList<>();
+        for (long free = ~booked(vetId, date) & allSlots; free != 0; free &= free - 1) {
+            slots.add(Long.numberOfTrailingZeros(free));
+        }
+        return slots;
+    }
+
+    /**
+     * Forget the days before a date, which can't be booked any more.
+     *
+     * @param date the first day to keep.
+     */
+    public void evictBefore(LocalDate date) {
+        bookedSlots.values().forEach(days -> days.keySet().removeIf(day -> day.isBefore(date)));
+    }
+
+    private long booked(long vetId, LocalDate date) {
+        ConcurrentMap<LocalDate, AtomicLong> days = bookedSlots.get(vetId);
+        AtomicLong day = days != null ? days.get(date) : null;
+        return day != null ? day.get() : 0;
+    }
+
+    private AtomicLong day(long vetId, LocalDate date) {
+        return bookedSlots.computeIfAbsent(vetId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(date, day -> new AtomicLong());
+    }
+
+    private long bit(int slot) {
+        if (slot < 0 || slot >= slotsPerDay) {
+            throw new IllegalArgumentException("Invalid slot: " + slot);
+        }
+        return 1L << slot;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class for managing visits.
+ */
+@Service
+@Transactional
+public class VisitService {
+
+    private final Logger log = LoggerFactory.getLogger(VisitService.class);
+
+    private final VisitRepository visitRepository;
+
+    private final ObjectWriter visitWriter;
+
+    public VisitService(VisitRepository visitRepository, ObjectMapper objectMapper) {
+        this.visitRepository = visitRepository;
+        this.visitWriter = objectMapper.writerFor(VisitDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write all the visits to the given stream as newline-delimited JSON.
+     * <p>
+     * Visits are read as unmanaged projections through a forward-only cursor, so memory use
+     * stays flat whatever the size of the table.
+     *
+     * @param out the stream to write to, left open.
+     * @return the number of visits written.
+     * @throws IOException if the visits couldn't be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = visitWriter.getFactory().createGenerator(out);
+             Stream<VisitDTO> visits = visitRepository.streamAllDto()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<VisitDTO> iterator = visits.iterator();
+            while (iterator.hasNext()) {
+                visitWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % VisitRepository.STREAM_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.debug("Exported {} visits", count);
+        return count;
+    }
+}
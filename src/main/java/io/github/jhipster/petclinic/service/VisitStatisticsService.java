@@ -0,0 +1,302 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+import io.github.jhipster.petclinic.repository.OwnerRepository;
+import io.github.jhipster.petclinic.repository.VisitStatisticsRepository;
+import io.github.jhipster.petclinic.repository.projection.PetTypeVisitsDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitStatisticsDTO;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service maintaining and serving the visit statistics: the number of visits and the last visit of every pet,
+ * and the number of visits per pet type and month.
+ * <p>
+ * A Hibernate listener collects the changes of the visits and the pets flushed by a transaction, and applies them
+ * to the statistics once, right before the transaction commits: the statistics are consistent with the visits,
+ * and the rows of the statistics are only locked during the commit. The changes made without Hibernate, like the
+ * bulk deletes, require a {@link #rebuild()}.
+ */
+@Service
+@Transactional
+public class VisitStatisticsService {
+
+    private final Logger log = LoggerFactory.getLogger(VisitStatisticsService.class);
+
+    private final VisitStatisticsRepository visitStatisticsRepository;
+
+    private final OwnerRepository ownerRepository;
+
+    private final ConcurrentMap<EventSource, Changes> changesBySession = new ConcurrentHashMap<>();
+
+    public VisitStatisticsService(VisitStatisticsRepository visitStatisticsRepository, OwnerRepository ownerRepository,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.visitStatisticsRepository = visitStatisticsRepository;
+        this.ownerRepository = ownerRepository;
+        CommittedChangeListener.appendListeners(entityManagerFactory, new StatisticsChangeListener(),
+            EventType.POST_INSERT, EventType.POST_UPDATE, EventType.POST_DELETE);
+    }
+
+    /**
+     * Get the number of visits per pet type and month.
+     *
+     * @param from the first month.
+     * @param to the last month.
+     * @return the months having visits, in ascending order, then by pet type.
+     */
+    @Transactional(readOnly = true)
+    public List<PetTypeVisitsDTO> findPetTypeVisits(YearMonth from, YearMonth to) {
+        log.debug("Request to get the visits per pet type from {} to {}", from, to);
+        return visitStatisticsRepository.findPetTypeVisits(from, to);
+    }
+
+    /**
+     * Get the statistics of a pet.
+     *
+     * @param petId the id of the pet.
+     * @return the statistics, or empty if the pet doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VisitStatisticsDTO> findByPetId(Long petId) {
+        log.debug("Request to get the visit statistics of Pet : {}", petId);
+        return visitStatisticsRepository.findByPetId(petId);
+    }
+
+    /**
+     * Get the statistics of the pets of an owner.
+     *
+     * @param ownerId the id of the owner.
+     * @return the statistics, or empty if the owner doesn't exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VisitStatisticsDTO> findByOwnerId(Long ownerId) {
+        log.debug("Request to get the visit statistics of Owner : {}", ownerId);
+        if (!ownerRepository.existsById(ownerId)) {
+            return Optional.empty();
+        }
+        return Optional.of(visitStatisticsRepository.findByOwnerId(ownerId));
+    }
+
+    /**
+     * Compute all the statistics again from the visits, for the changes made without Hibernate.
+     */
+    public void rebuild() {
+        log.info("Rebuilding the visit statistics");
+        visitStatisticsRepository.rebuild();
+    }
+
+    private Changes changes(EventSource session) {
+        return changesBySession.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) completing -> {
+                Changes changes = changesBySession.remove(session);
+                if (changes != null) {
+                    apply(changes);
+                }
+            });
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                changesBySession.remove(session));
+            return new Changes();
+        });
+    }
+
+    /**
+     * Apply the changes of a transaction, in the transaction.
+     */
+    private void apply(Changes changes) {
+        for (Long petId : changes.insertedPets) {
+            if (!changes.deletedPetTypes.containsKey(petId)) {
+                visitStatisticsRepository.insertPet(petId);
+            }
+        }
+        // The rows are updated in the order of their keys, so that concurrent transactions lock them in the same order
+        Map<PetType, Map<YearMonth, Long>> petTypeVisits = new EnumMap<>(PetType.class);
+        Set<Long> petIds = new TreeSet<>(changes.visitsByPet.keySet());
+        petIds.addAll(changes.previousPetTypes.keySet());
+        for (Long petId : petIds) {
+            Map<YearMonth, Long> addedVisits = changes.visitsByPet.getOrDefault(petId, Collections.emptyMap());
+            PetType previousType = changes.previousPetTypes.get(petId);
+            PetType deletedType = changes.deletedPetTypes.get(petId);
+            if (deletedType != null) {
+                // The pet and all its visits were deleted
+                addAll(petTypeVisits, previousType != null ? previousType : deletedType, addedVisits, 1);
+            } else if (previousType != null && previousType != changes.petTypes.get(petId)) {
+                // The visits of the pet move from its previous type to its new one
+                Map<YearMonth, Long> visits = new HashMap<>();
+                for (LocalDate date : visitStatisticsRepository.findVisitDatesByPetId(petId)) {
+                    visits.merge(YearMonth.from(date), 1L, Long::sum);
+                }
+                addAll(petTypeVisits, previousType, visits, -1);
+                addAll(petTypeVisits, previousType, addedVisits, 1);
+                addAll(petTypeVisits, changes.petTypes.get(petId), visits, 1);
+            } else {
+                PetType type = changes.petTypes.get(petId);
+                Optional<PetType> petType = type != null ? Optional.of(type) : visitStatisticsRepository.findPetType(petId);
+                petType.ifPresent(presentType -> addAll(petTypeVisits, presentType, addedVisits, 1));
+            }
+        }
+        petTypeVisits.forEach((type, months) -> months.forEach((month, visits) -> {
+            if (visits != 0) {
+                visitStatisticsRepository.addPetTypeVisits(type, month, visits);
+            }
+        }));
+        for (Long petId : new TreeSet<>(changes.visitsByPet.keySet())) {
+            if (!changes.deletedPetTypes.containsKey(petId)) {
+                visitStatisticsRepository.refreshPet(petId);
+            }
+        }
+    }
+
+    private static void addAll(Map<PetType, Map<YearMonth, Long>> petTypeVisits, PetType type, Map<YearMonth, Long> visits, int sign) {
+        Map<YearMonth, Long> months = petTypeVisits.computeIfAbsent(type, key -> new TreeMap<>());
+        visits.forEach((month, count) -> months.merge(month, sign * count, Long::sum));
+    }
+
+    /**
+     * The changes of the visits and the pets flushed by a transaction.
+     */
+    private static final class Changes {
+
+        private final Set<Long> insertedPets = new LinkedHashSet<>();
+
+        /**
+         * The visits added per month, negative for the removed ones, of the pets of which the visits changed.
+         */
+        private final Map<Long, Map<YearMonth, Long>> visitsByPet = new HashMap<>();
+
+        /**
+         * The types of the inserted and updated pets.
+         */
+        private final Map<Long, PetType> petTypes = new HashMap<>();
+
+        /**
+         * The types before the transaction of the pets of which the type changed.
+         */
+        private final Map<Long, PetType> previousPetTypes = new HashMap<>();
+
+        private final Map<Long, PetType> deletedPetTypes = new HashMap<>();
+
+        void addVisit(Object pet, Object date, long visits) {
+            if (pet instanceof Pet && ((Pet) pet).getId() != null && date instanceof LocalDate) {
+                visitsByPet.computeIfAbsent(((Pet) pet).getId(), id -> new HashMap<>())
+                    .merge(YearMonth.from((LocalDate) date), visits, Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Listener of the flushed changes of the visits and the pets, Hibernate calling it for all the entities.
+     */
+    private class StatisticsChangeListener implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            Object entity = event.getEntity();
+            if (entity instanceof Visit) {
+                changes(event.getSession()).addVisit(property(event.getPersister(), event.getState(), "pet"),
+                    property(event.getPersister(), event.getState(), "date"), 1);
+            } else if (entity instanceof Pet) {
+                Changes changes = changes(event.getSession());
+                Long petId = (Long) event.getId();
+                changes.insertedPets.add(petId);
+                changes.petTypes.put(petId, (PetType) property(event.getPersister(), event.getState(), "type"));
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            Object entity = event.getEntity();
+            if (event.getOldState() == null) {
+                // Only merged entities are updated, of which the previous state is known
+                return;
+            }
+            if (entity instanceof Visit) {
+                Object previousPet = property(event.getPersister(), event.getOldState(), "pet");
+                Object previousDate = property(event.getPersister(), event.getOldState(), "date");
+                Object pet = property(event.getPersister(), event.getState(), "pet");
+                Object date = property(event.getPersister(), event.getState(), "date");
+                if (!Objects.equals(petId(previousPet), petId(pet)) || !Objects.equals(previousDate, date)) {
+                    Changes changes = changes(event.getSession());
+                    changes.addVisit(previousPet, previousDate, -1);
+                    changes.addVisit(pet, date, 1);
+                }
+            } else if (entity instanceof Pet) {
+                PetType previousType = (PetType) property(event.getPersister(), event.getOldState(), "type");
+                PetType type = (PetType) property(event.getPersister(), event.getState(), "type");
+                if (previousType != type) {
+                    Changes changes = changes(event.getSession());
+                    Long petId = (Long) event.getId();
+                    if (!changes.insertedPets.contains(petId)) {
+                        changes.previousPetTypes.putIfAbsent(petId, previousType);
+                    }
+                    changes.petTypes.put(petId, type);
+                }
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            Object entity = event.getEntity();
+            if (entity instanceof Visit) {
+                changes(event.getSession()).addVisit(property(event.getPersister(), event.getDeletedState(), "pet"),
+                    property(event.getPersister(), event.getDeletedState(), "date"), -1);
+            } else if (entity instanceof Pet) {
+                changes(event.getSession()).deletedPetTypes.put((Long) event.getId(),
+                    (PetType) property(event.getPersister(), event.getDeletedState(), "type"));
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            // Only called for the post-commit listeners
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return requiresPostCommitHandling(persister);
+        }
+
+        private Object property(EntityPersister persister, Object[] state, String property) {
+            return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+        }
+
+        private Long petId(Object pet) {
+            return pet instanceof Pet ? ((Pet) pet).getId() : null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of one item of a batch write.
+ */
+public class BatchItemResultDTO {
+
+    /**
+     * The outcome of a batch item.
+     */
+    public enum Status {
+        CREATED, UPDATED, INVALID, CONFLICT, NOT_FOUND
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private List<String> errors;
+
+    public BatchItemResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BatchItemResultDTO(int index, Long id, Status status, List<String> errors) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.errors = errors;
+    }
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, id, Status.CREATED, Collections.emptyList());
+    }
+
+    public static BatchItemResultDTO updated(int index, Long id) {
+        return new BatchItemResultDTO(index, id, Status.UPDATED, Collections.emptyList());
+    }
+
+    public static BatchItemResultDTO invalid(int index, Long id, List<String> errors) {
+        return new BatchItemResultDTO(index, id, Status.INVALID, errors);
+    }
+
+    public static BatchItemResultDTO conflict(int index, Long id, List<String> errors) {
+        return new BatchItemResultDTO(index, id, Status.CONFLICT, errors);
+    }
+
+    public static BatchItemResultDTO notFound(int index, Long id) {
+        return new BatchItemResultDTO(index, id, Status.NOT_FOUND, Collections.singletonList("id: not found"));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", errors=" + errors +
+            "}";
+    }
+}
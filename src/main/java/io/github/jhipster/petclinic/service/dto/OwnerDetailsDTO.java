@@ -0,0 +1,118 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import io.github.jhipster.petclinic.domain.Owner;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A DTO representing an owner, with its pets and their visits.
+ */
+public class OwnerDetailsDTO {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String address;
+
+    private String city;
+
+    private String telephone;
+
+    private List<PetDetailsDTO> pets;
+
+    public OwnerDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Build the details of an owner, whose pets and visits should be already fetched.
+     *
+     * @param owner the owner.
+     */
+    public OwnerDetailsDTO(Owner owner) {
+        this.id = owner.getId();
+        this.firstName = owner.getFirstName();
+        this.lastName = owner.getLastName();
+        this.address = owner.getAddress();
+        this.city = owner.getCity();
+        this.telephone = owner.getTelephone();
+        this.pets = owner.getPets().stream()
+            .map(PetDetailsDTO::new)
+            .sorted(Comparator.comparing(PetDetailsDTO::getName).thenComparing(PetDetailsDTO::getId))
+            .collect(Collectors.toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getTelephone() {
+        return telephone;
+    }
+
+    public void setTelephone(String telephone) {
+        this.telephone = telephone;
+    }
+
+    public List<PetDetailsDTO> getPets() {
+        return pets;
+    }
+
+    public void setPets(List<PetDetailsDTO> pets) {
+        this.pets = pets;
+    }
+
+    @Override
+    public String toString() {
+        return "OwnerDetailsDTO{" +
+            "id=" + getId() +
+            ", firstName='" + getFirstName() + "'" +
+            ", lastName='" + getLastName() + "'" +
+            ", address='" + getAddress() + "'" +
+            ", city='" + getCity() + "'" +
+            ", telephone='" + getTelephone() + "'" +
+            ", pets=" + getPets() +
+            "}";
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.Criteria;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.LocalDateFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link io.github.jhipster.petclinic.domain.Pet} entity. This class is used
+ * in {@link io.github.jhipster.petclinic.web.rest.PetResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /pets?id.greaterThan=5&name.contains=something&ownerId.equals=3}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class PetCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering PetType
+     */
+    public static class PetTypeFilter extends Filter<PetType> {
+
+        public PetTypeFilter() {
+        }
+
+        public PetTypeFilter(PetTypeFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public PetTypeFilter copy() {
+            return new PetTypeFilter(this);
+        }
+
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter name;
+
+    private LocalDateFilter birthDate;
+
+    private PetTypeFilter type;
+
+    private LongFilter ownerId;
+
+    public PetCriteria() {
+    }
+
+    public PetCriteria(PetCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.name = other.name == null ? null : other.name.copy();
+        this.birthDate = other.birthDate == null ? null : other.birthDate.copy();
+        this.type = other.type == null ? null : other.type.copy();
+        this.ownerId = other.ownerId == null ? null : other.ownerId.copy();
+    }
+
+    @Override
+    public PetCriteria copy() {
+        return new PetCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public LocalDateFilter getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDateFilter birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public PetTypeFilter getType() {
+        return type;
+    }
+
+    public void setType(PetTypeFilter type) {
+        this.type = type;
+    }
+
+    public LongFilter getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(LongFilter ownerId) {
+        this.ownerId = ownerId;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final PetCriteria that = (PetCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(birthDate, that.birthDate) &&
+            Objects.equals(type, that.type) &&
+            Objects.equals(ownerId, that.ownerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        name,
+        birthDate,
+        type,
+        ownerId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "PetCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (name != null ? "name=" + name + ", " : "") +
+                (birthDate != null ? "birthDate=" + birthDate + ", " : "") +
+                (type != null ? "type=" + type + ", " : "") +
+                (ownerId != null ? "ownerId=" + ownerId + ", " : "") +
+            "}";
+    }
+
+}
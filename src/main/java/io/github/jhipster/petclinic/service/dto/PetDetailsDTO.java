@@ -0,0 +1,91 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A DTO representing a pet, with its visits, within the details of its owner.
+ */
+public class PetDetailsDTO {
+
+    private Long id;
+
+    private String name;
+
+    private LocalDate birthDate;
+
+    private PetType type;
+
+    private List<VisitDetailsDTO> visits;
+
+    public PetDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public PetDetailsDTO(Pet pet) {
+        this.id = pet.getId();
+        this.name = pet.getName();
+        this.birthDate = pet.getBirthDate();
+        this.type = pet.getType();
+        this.visits = pet.getVisits().stream()
+            .map(VisitDetailsDTO::new)
+            .sorted(Comparator.comparing(VisitDetailsDTO::getDate).reversed().thenComparing(VisitDetailsDTO::getId))
+            .collect(Collectors.toList());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public PetType getType() {
+        return type;
+    }
+
+    public void setType(PetType type) {
+        this.type = type;
+    }
+
+    public List<VisitDetailsDTO> getVisits() {
+        return visits;
+    }
+
+    public void setVisits(List<VisitDetailsDTO> visits) {
+        this.visits = visits;
+    }
+
+    @Override
+    public String toString() {
+        return "PetDetailsDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", birthDate='" + getBirthDate() + "'" +
+            ", type='" + getType() + "'" +
+            ", visits=" + getVisits() +
+            "}";
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A time slot of a vet.
+ */
+public class SlotDTO implements Serializable {
+
+    private Long vetId;
+
+    private LocalDate date;
+
+    private int slot;
+
+    private LocalDateTime start;
+
+    public SlotDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SlotDTO(Long vetId, LocalDate date, int slot, LocalDateTime start) {
+        this.vetId = vetId;
+        this.date = date;
+        this.slot = slot;
+        this.start = start;
+    }
+
+    public Long getVetId() {
+        return vetId;
+    }
+
+    public void setVetId(Long vetId) {
+        this.vetId = vetId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDateTime start) {
+        this.start = start;
+    }
+
+    @Override
+    public String toString() {
+        return "SlotDTO{" +
+            "vetId=" + getVetId() +
+            ", date='" + getDate() + "'" +
+            ", slot=" + getSlot() +
+            "}";
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.jhipster.petclinic.service.dto;
+
+import io.github.jhipster.petclinic.domain.Visit;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO representing a visit of a pet, within the details of its owner.
+ */
+public class VisitDetailsDTO {
+
+    private Long id;
+
+    private LocalDate date;
+
+    private String description;
+
+    public VisitDetailsDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public VisitDetailsDTO(Visit visit) {
+        this.id = visit.getId();
+        this.date = visit.getDate();
+        this.description = visit.getDescription();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public String toString() {
+        return "VisitDetailsDTO{" +
+            "id=" + getId() +
+            ", date='" + getDate() + "'" +
+            ", description='" + getDescription() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.repository.projection.OwnerDTO;
+
+import org.mapstruct.*;
+
+import java.util.List;
+
+/**
+ * Mapper for the entity {@link Owner} and its DTO {@link OwnerDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface OwnerMapper {
+
+    OwnerDTO toDto(Owner owner);
+
+    List<OwnerDTO> toDto(List<Owner> owners);
+
+    @Named("id")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    OwnerDTO toDtoId(Owner owner);
+}
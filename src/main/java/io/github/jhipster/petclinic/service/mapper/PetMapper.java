@@ -0,0 +1,25 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
+
+import org.mapstruct.*;
+
+import java.util.List;
+
+/**
+ * Mapper for the entity {@link Pet} and its DTO {@link PetDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {OwnerMapper.class})
+public interface PetMapper {
+
+    @Mapping(target = "owner", source = "owner", qualifiedByName = "id")
+    PetDTO toDto(Pet pet);
+
+    List<PetDTO> toDto(List<Pet> pets);
+
+    @Named("id")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    PetDTO toDtoId(Pet pet);
+}
@@ -0,0 +1,19 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
+
+import org.mapstruct.*;
+
+import java.util.List;
+
+/**
+ * Mapper for the entity {@link Specialty} and its DTO {@link SpecialtyDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface SpecialtyMapper {
+
+    SpecialtyDTO toDto(Specialty specialty);
+
+    List<SpecialtyDTO> toDto(List<Specialty> specialties);
+}
@@ -0,0 +1,26 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+
+import org.mapstruct.*;
+
+import java.util.List;
+
+/**
+ * Mapper for the entity {@link Vet} and its DTO {@link VetDTO}.
+ * <p>
+ * The specialities of the vets must be fetched beforehand.
+ */
+@Mapper(componentModel = "spring", uses = {SpecialtyMapper.class})
+public interface VetMapper {
+
+    VetDTO toDto(Vet vet);
+
+    List<VetDTO> toDto(List<Vet> vets);
+
+    @Named("id")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    VetDTO toDtoId(Vet vet);
+}
@@ -0,0 +1,21 @@
+package io.github.jhipster.petclinic.service.mapper;
+
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
+
+import org.mapstruct.*;
+
+import java.util.List;
+
+/**
+ * Mapper for the entity {@link Visit} and its DTO {@link VisitDTO}.
+ */
+@Mapper(componentModel = "spring", uses = {PetMapper.class, VetMapper.class})
+public interface VisitMapper {
+
+    @Mapping(target = "pet", source = "pet", qualifiedByName = "id")
+    @Mapping(target = "vet", source = "vet", qualifiedByName = "id")
+    VisitDTO toDto(Visit visit);
+
+    List<VisitDTO> toDto(List<Visit> visits);
+}
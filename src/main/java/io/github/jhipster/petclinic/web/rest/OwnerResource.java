@@ -2,7 +2,11 @@ package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.domain.Owner;
 import io.github.jhipster.petclinic.repository.OwnerRepository;
+import io.github.jhipster.petclinic.repository.projection.OwnerDTO;
+import io.github.jhipster.petclinic.service.dto.OwnerDetailsDTO;
 import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.petclinic.web.rest.util.ConditionalGetUtil;
+import io.github.jhipster.petclinic.web.rest.util.KeysetPaginationUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -12,17 +16,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -90,12 +97,34 @@ public class OwnerResource {
      * {@code GET  /owners} : get all the owners.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of owners in body.
+     * @param after the opaque cursor of a keyset page, an empty cursor requesting the first one (optional, switches to keyset pagination).
+     * @param lastName the case-insensitive prefix of the last name of the owners to search (optional, paginated by page number).
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of owners in body,
+     * or with status {@code 400 (Bad Request)} if a search by last name is given a keyset cursor.
      */
     @GetMapping("/owners")
-    public ResponseEntity<List<Owner>> getAllOwners(Pageable pageable) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<OwnerDTO>> getAllOwners(Pageable pageable, @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after,
+                                                    @RequestParam(required = false) String lastName) {
+        if (lastName != null) {
+            if (after != null) {
+                // The cursor is an id, which can't resume a search ordered by the request
+                throw new BadRequestAlertException("The search by last name isn't paginated by keyset", ENTITY_NAME, "keysetsearch");
+            }
+            log.debug("REST request to search a page of Owners by last name : {}", lastName);
+            Page<OwnerDTO> page = ownerRepository.findDtoByLastNameLowerStartingWith(lastName.toLowerCase(Locale.ROOT), pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
+        }
+        if (after != null) {
+            log.debug("REST request to get a keyset page of Owners");
+            Slice<OwnerDTO> slice = ownerRepository.findDtoByIdGreaterThan(
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME), KeysetPaginationUtil.keysetPageable(pageable));
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, OwnerDTO::getId);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Owners");
-        Page<Owner> page = ownerRepository.findAll(pageable);
+        Page<OwnerDTO> page = ownerRepository.findAllDto(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -104,13 +133,30 @@ public class OwnerResource {
      * {@code GET  /owners/:id} : get the "id" owner.
      *
      * @param id the id of the owner to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the owner, or with status {@code 404 (Not Found)}.
+     * @param request the request, with its {@code If-None-Match} or {@code If-Modified-Since} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the owner, or with status {@code 304 (Not Modified)}
+     * if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/owners/{id}")
-    public ResponseEntity<Owner> getOwner(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<OwnerDTO> getOwner(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Owner : {}", id);
-        Optional<Owner> owner = ownerRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(owner);
+        return ConditionalGetUtil.wrapOrNotModified(ownerRepository.findVersionById(id), request,
+            () -> ownerRepository.findDtoById(id));
+    }
+
+    /**
+     * {@code GET  /owners/:id/details} : get the "id" owner, with its pets and their visits.
+     *
+     * @param id the id of the owner to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the owner details, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/owners/{id}/details")
+    @Transactional(readOnly = true)
+    public ResponseEntity<OwnerDetailsDTO> getOwnerDetails(@PathVariable Long id) {
+        log.debug("REST request to get Owner details : {}", id);
+        Optional<OwnerDetailsDTO> ownerDetails = ownerRepository.findWithPetsAndVisitsById(id).map(OwnerDetailsDTO::new);
+        return ResponseUtil.wrapOrNotFound(ownerDetails);
     }
 
     /**
@@ -2,22 +2,32 @@ package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.domain.Pet;
 import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
+import io.github.jhipster.petclinic.service.BatchService;
+import io.github.jhipster.petclinic.service.PetQueryService;
+import io.github.jhipster.petclinic.service.dto.BatchItemResultDTO;
+import io.github.jhipster.petclinic.service.dto.PetCriteria;
 import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.petclinic.web.rest.util.ConditionalGetUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
+import io.github.jhipster.web.util.PaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * REST controller for managing {@link io.github.jhipster.petclinic.domain.Pet}.
@@ -36,8 +46,14 @@ public class PetResource {
 
     private final PetRepository petRepository;
 
-    public PetResource(PetRepository petRepository) {
+    private final BatchService batchService;
+
+    private final PetQueryService petQueryService;
+
+    public PetResource(PetRepository petRepository, BatchService batchService, PetQueryService petQueryService) {
         this.petRepository = petRepository;
+        this.batchService = batchService;
+        this.petQueryService = petQueryService;
     }
 
     /**
@@ -80,28 +96,67 @@ public class PetResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /pets/batch} : Create or update a batch of pets in a single transaction.
+     * <p>
+     * Pets without an ID are created, the others are updated. Invalid pets, and pets whose ID doesn't exist, are skipped.
+     *
+     * @param pets the pets to save, at most {@link BatchService#MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each pet,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/pets/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> savePetsInBatch(@RequestBody List<Pet> pets) {
+        log.debug("REST request to save a batch of {} Pets", pets.size());
+        if (pets.size() > BatchService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("A batch cannot contain more than " + BatchService.MAX_BATCH_SIZE + " pets", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok(batchService.saveAll(pets, Pet::getId));
+    }
+
     /**
      * {@code GET  /pets} : get all the pets.
      *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
      */
     @GetMapping("/pets")
-    public List<Pet> getAllPets() {
-        log.debug("REST request to get all Pets");
-        return petRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<PetDTO>> getAllPets(PetCriteria criteria, Pageable pageable) {
+        log.debug("REST request to get Pets by criteria: {}", criteria);
+        Page<PetDTO> page = petQueryService.findByCriteria(criteria, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /pets/count} : count all the pets.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/pets/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countPets(PetCriteria criteria) {
+        log.debug("REST request to count Pets by criteria: {}", criteria);
+        return ResponseEntity.ok().body(petQueryService.countByCriteria(criteria));
     }
 
     /**
      * {@code GET  /pets/:id} : get the "id" pet.
      *
      * @param id the id of the pet to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pet, or with status {@code 404 (Not Found)}.
+     * @param request the request, with its {@code If-None-Match} or {@code If-Modified-Since} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pet, or with status {@code 304 (Not Modified)}
+     * if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/pets/{id}")
-    public ResponseEntity<Pet> getPet(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<PetDTO> getPet(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Pet : {}", id);
-        Optional<Pet> pet = petRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(pet);
+        return ConditionalGetUtil.wrapOrNotModified(petRepository.findVersionById(id), request,
+            () -> petRepository.findDtoById(id));
     }
 
     /**
@@ -0,0 +1,112 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.projection.AppointmentDTO;
+import io.github.jhipster.petclinic.service.ScheduleService;
+import io.github.jhipster.petclinic.service.VetDirectoryService;
+import io.github.jhipster.petclinic.service.dto.SlotDTO;
+import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.HeaderUtil;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for scheduling the {@link io.github.jhipster.petclinic.domain.Visit} in the time slots of the vets.
+ * <p>
+ * A scheduled visit is cancelled by deleting it.
+ */
+@RestController
+@RequestMapping("/api")
+public class ScheduleResource {
+
+    private final Logger log = LoggerFactory.getLogger(ScheduleResource.class);
+
+    private static final String ENTITY_NAME = "visit";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ScheduleService scheduleService;
+
+    private final VetDirectoryService vetDirectoryService;
+
+    private final PetRepository petRepository;
+
+    public ScheduleResource(ScheduleService scheduleService, VetDirectoryService vetDirectoryService, PetRepository petRepository) {
+        this.scheduleService = scheduleService;
+        this.vetDirectoryService = vetDirectoryService;
+        this.petRepository = petRepository;
+    }
+
+    /**
+     * {@code GET  /schedule/first-free-slot} : get the first free slot of the vets having a specialty.
+     *
+     * @param specialtyId the id of the specialty.
+     * @param from the first day to search, today by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the slot,
+     * or with status {@code 404 (Not Found)} if there isn't any free slot or if the specialty doesn't exist.
+     */
+    @GetMapping("/schedule/first-free-slot")
+    public ResponseEntity<SlotDTO> getFirstFreeSlot(@RequestParam Long specialtyId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from) {
+        log.debug("REST request to get the first free slot of Specialty {} from {}", specialtyId, from);
+        return ResponseUtil.wrapOrNotFound(scheduleService.findFirstFreeSlot(specialtyId, from != null ? from : LocalDate.now()));
+    }
+
+    /**
+     * {@code GET  /schedule/vets/:vetId/free-slots} : get the free slots of a vet in a day.
+     *
+     * @param vetId the id of the vet.
+     * @param date the day.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of slots in body,
+     * or with status {@code 404 (Not Found)} if the vet doesn't exist.
+     */
+    @GetMapping("/schedule/vets/{vetId}/free-slots")
+    public ResponseEntity<List<SlotDTO>> getFreeSlots(@PathVariable Long vetId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.debug("REST request to get the free slots of Vet {} on {}", vetId, date);
+        return ResponseUtil.wrapOrNotFound(scheduleService.findFreeSlots(vetId, date));
+    }
+
+    /**
+     * {@code POST  /schedule/appointments} : Schedule a new visit.
+     *
+     * @param appointment the visit to schedule.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new visit,
+     * or with status {@code 400 (Bad Request)} if the pet, the vet or the slot are invalid,
+     * or with status {@code 409 (Conflict)} if the slot is already booked.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/schedule/appointments")
+    public ResponseEntity<AppointmentDTO> createAppointment(@Valid @RequestBody AppointmentDTO appointment) throws URISyntaxException {
+        log.debug("REST request to schedule Appointment : {}", appointment);
+        if (appointment.getId() != null) {
+            throw new BadRequestAlertException("A new visit cannot already have an ID", ENTITY_NAME, "idexists");
+        }
+        if (!scheduleService.isBookable(appointment.getDate(), appointment.getSlot())) {
+            throw new BadRequestAlertException("Invalid slot", ENTITY_NAME, "slotinvalid");
+        }
+        if (!petRepository.existsById(appointment.getPetId())) {
+            throw new BadRequestAlertException("Invalid pet", ENTITY_NAME, "petnotfound");
+        }
+        if (!vetDirectoryService.getDirectory().findById(appointment.getVetId()).isPresent()) {
+            throw new BadRequestAlertException("Invalid vet", ENTITY_NAME, "vetnotfound");
+        }
+        AppointmentDTO result = scheduleService.book(appointment);
+        return ResponseEntity.created(new URI("/api/visits/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+}
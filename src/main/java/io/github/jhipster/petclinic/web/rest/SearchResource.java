@@ -0,0 +1,96 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.projection.OwnerDTO;
+import io.github.jhipster.petclinic.repository.projection.PetDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
+import io.github.jhipster.petclinic.security.AuthoritiesConstants;
+import io.github.jhipster.petclinic.service.SearchService;
+
+import io.github.jhipster.web.util.PaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * REST controller for the free text search of {@link Owner}s, {@link Pet}s and {@link Visit}s.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private final SearchService searchService;
+
+    public SearchResource(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * {@code GET  /_search/owners?query=:query} : search for the owners corresponding to the query.
+     *
+     * @param query the query of the owner search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of owners in body.
+     */
+    @GetMapping("/_search/owners")
+    public ResponseEntity<List<OwnerDTO>> searchOwners(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Owners for query {}", query);
+        return toResponse(searchService.searchOwners(query, pageable));
+    }
+
+    /**
+     * {@code GET  /_search/pets?query=:query} : search for the pets corresponding to the query.
+     *
+     * @param query the query of the pet search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pets in body.
+     */
+    @GetMapping("/_search/pets")
+    public ResponseEntity<List<PetDTO>> searchPets(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Pets for query {}", query);
+        return toResponse(searchService.searchPets(query, pageable));
+    }
+
+    /**
+     * {@code GET  /_search/visits?query=:query} : search for the visits corresponding to the query.
+     *
+     * @param query the query of the visit search.
+     * @param pageable the pagination information.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of visits in body.
+     */
+    @GetMapping("/_search/visits")
+    public ResponseEntity<List<VisitDTO>> searchVisits(@RequestParam String query, Pageable pageable) {
+        log.debug("REST request to search for a page of Visits for query {}", query);
+        return toResponse(searchService.searchVisits(query, pageable));
+    }
+
+    /**
+     * {@code POST  /_search/reindex} : rebuild the search index from the database, in the background.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)}.
+     */
+    @PostMapping("/_search/reindex")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Void> reindex() {
+        log.debug("REST request to rebuild the search index");
+        searchService.reindex();
+        return ResponseEntity.accepted().build();
+    }
+
+    private <T> ResponseEntity<List<T>> toResponse(Page<T> page) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+}
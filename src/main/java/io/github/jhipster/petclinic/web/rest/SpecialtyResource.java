@@ -2,6 +2,7 @@ package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.domain.Specialty;
 import io.github.jhipster.petclinic.repository.SpecialtyRepository;
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
 import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
@@ -86,9 +87,10 @@ public class SpecialtyResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of specialties in body.
      */
     @GetMapping("/specialties")
-    public List<Specialty> getAllSpecialties() {
+    @Transactional(readOnly = true)
+    public List<SpecialtyDTO> getAllSpecialties() {
         log.debug("REST request to get all Specialties");
-        return specialtyRepository.findAll();
+        return specialtyRepository.findAllDto();
     }
 
     /**
@@ -98,9 +100,10 @@ public class SpecialtyResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the specialty, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/specialties/{id}")
-    public ResponseEntity<Specialty> getSpecialty(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<SpecialtyDTO> getSpecialty(@PathVariable Long id) {
         log.debug("REST request to get Specialty : {}", id);
-        Optional<Specialty> specialty = specialtyRepository.findById(id);
+        Optional<SpecialtyDTO> specialty = specialtyRepository.findDtoById(id);
         return ResponseUtil.wrapOrNotFound(specialty);
     }
 
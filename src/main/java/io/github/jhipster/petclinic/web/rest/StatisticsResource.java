@@ -0,0 +1,86 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.repository.projection.PetTypeVisitsDTO;
+import io.github.jhipster.petclinic.repository.projection.VisitStatisticsDTO;
+import io.github.jhipster.petclinic.service.VisitStatisticsService;
+import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * REST controller for getting the statistics of the {@link io.github.jhipster.petclinic.domain.Visit}s,
+ * which are maintained with the visits.
+ */
+@RestController
+@RequestMapping("/api/stats")
+public class StatisticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(StatisticsResource.class);
+
+    /**
+     * Number of months of the visits per pet type, by default.
+     */
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final VisitStatisticsService visitStatisticsService;
+
+    public StatisticsResource(VisitStatisticsService visitStatisticsService) {
+        this.visitStatisticsService = visitStatisticsService;
+    }
+
+    /**
+     * {@code GET  /stats/pet-types/visits} : get the number of visits per pet type and month.
+     *
+     * @param from the first month, {@code 11} months before the last one by default.
+     * @param to the last month, the current one by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the months having visits in body,
+     * or with status {@code 400 (Bad Request)} if the first month is after the last one.
+     */
+    @GetMapping("/pet-types/visits")
+    public ResponseEntity<List<PetTypeVisitsDTO>> getPetTypeVisits(@RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        log.debug("REST request to get the visits per pet type from {} to {}", from, to);
+        YearMonth lastMonth = to != null ? to : YearMonth.now();
+        YearMonth firstMonth = from != null ? from : lastMonth.minusMonths(DEFAULT_MONTHS - 1);
+        if (firstMonth.isAfter(lastMonth)) {
+            throw new BadRequestAlertException("The first month is after the last one", "visit", "monthsinvalid");
+        }
+        return ResponseEntity.ok(visitStatisticsService.findPetTypeVisits(firstMonth, lastMonth));
+    }
+
+    /**
+     * {@code GET  /stats/pets/:id} : get the number of visits and the last visit of the "id" pet.
+     *
+     * @param id the id of the pet.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the statistics, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/pets/{id}")
+    public ResponseEntity<VisitStatisticsDTO> getPetStatistics(@PathVariable Long id) {
+        log.debug("REST request to get the visit statistics of Pet : {}", id);
+        return ResponseUtil.wrapOrNotFound(visitStatisticsService.findByPetId(id));
+    }
+
+    /**
+     * {@code GET  /stats/owners/:id} : get the number of visits and the last visit of the pets of the "id" owner.
+     *
+     * @param id the id of the owner.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the statistics, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/owners/{id}")
+    public ResponseEntity<VisitStatisticsDTO> getOwnerStatistics(@PathVariable Long id) {
+        log.debug("REST request to get the visit statistics of Owner : {}", id);
+        return ResponseUtil.wrapOrNotFound(visitStatisticsService.findByOwnerId(id));
+    }
+}
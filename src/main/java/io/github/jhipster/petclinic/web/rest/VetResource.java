@@ -2,7 +2,13 @@ package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.domain.Vet;
 import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+import io.github.jhipster.petclinic.service.VetDirectory;
+import io.github.jhipster.petclinic.service.VetDirectoryService;
+import io.github.jhipster.petclinic.service.mapper.VetMapper;
 import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+import io.github.jhipster.petclinic.web.rest.util.ConditionalGetUtil;
+import io.github.jhipster.petclinic.web.rest.util.KeysetPaginationUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -12,18 +18,21 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * REST controller for managing {@link io.github.jhipster.petclinic.domain.Vet}.
@@ -42,8 +51,14 @@ public class VetResource {
 
     private final VetRepository vetRepository;
 
-    public VetResource(VetRepository vetRepository) {
+    private final VetMapper vetMapper;
+
+    private final VetDirectoryService vetDirectoryService;
+
+    public VetResource(VetRepository vetRepository, VetMapper vetMapper, VetDirectoryService vetDirectoryService) {
         this.vetRepository = vetRepository;
+        this.vetMapper = vetMapper;
+        this.vetDirectoryService = vetDirectoryService;
     }
 
     /**
@@ -91,32 +106,78 @@ public class VetResource {
      *
      * @param pageable the pagination information.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param after the opaque cursor of a keyset page, an empty cursor requesting the first one (optional, switches to keyset pagination).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vets in body.
      */
     @GetMapping("/vets")
-    public ResponseEntity<List<Vet>> getAllVets(Pageable pageable, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<VetDTO>> getAllVets(Pageable pageable, @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                                @RequestParam(name = KeysetPaginationUtil.AFTER_PARAMETER, required = false) String after) {
+        if (after != null) {
+            log.debug("REST request to get a keyset page of Vets");
+            Slice<VetDTO> slice = vetRepository.findDtoByIdGreaterThan(
+                KeysetPaginationUtil.decodeCursor(after, ENTITY_NAME), KeysetPaginationUtil.keysetPageable(pageable));
+            if (eagerload && slice.hasContent()) {
+                List<Long> ids = slice.map(VetDTO::getId).getContent();
+                slice = new SliceImpl<>(vetMapper.toDto(vetRepository.findAllWithEagerRelationshipsByIdIn(ids)), slice.getPageable(), slice.hasNext());
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice, VetDTO::getId);
+            return ResponseEntity.ok().headers(headers).body(slice.getContent());
+        }
         log.debug("REST request to get a page of Vets");
-        Page<Vet> page;
+        Page<VetDTO> page;
         if (eagerload) {
-            page = vetRepository.findAllWithEagerRelationships(pageable);
+            page = vetRepository.findAllWithEagerRelationships(pageable).map(vetMapper::toDto);
         } else {
-            page = vetRepository.findAll(pageable);
+            page = vetRepository.findAllDto(pageable);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /vets?eagerload=true} : get all the vets with their specialities, from the {@link VetDirectoryService}.
+     *
+     * @param pageable the pagination information, sorted by id, version, firstName or lastName.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the JSON list of vets in body,
+     * or with status {@code 400 (Bad Request)} if the vets can't be sorted as requested.
+     */
+    @GetMapping(value = "/vets", params = {"eagerload=true", "!" + KeysetPaginationUtil.AFTER_PARAMETER})
+    public ResponseEntity<byte[]> getAllVetsFromDirectory(Pageable pageable) {
+        log.debug("REST request to get a page of Vets from the directory");
+        VetDirectory.SerializedPage page = vetDirectoryService.getDirectory().findAllSerialized(pageable)
+            .orElseThrow(() -> new BadRequestAlertException("Unsupported sort", ENTITY_NAME, "sortunsupported"));
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page.getPage());
+        return ResponseEntity.ok().headers(headers).contentType(MediaType.APPLICATION_JSON).body(page.getJson());
+    }
+
+    /**
+     * {@code GET  /specialties/:id/vets} : get the vets having the "id" specialty, from the {@link VetDirectoryService}.
+     *
+     * @param id the id of the specialty.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of vets in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/specialties/{id}/vets")
+    public ResponseEntity<List<VetDTO>> getVetsBySpecialty(@PathVariable Long id) {
+        log.debug("REST request to get the Vets of Specialty : {}", id);
+        return ResponseUtil.wrapOrNotFound(vetDirectoryService.getDirectory().findAllBySpecialtyId(id));
+    }
+
     /**
      * {@code GET  /vets/:id} : get the "id" vet.
      *
      * @param id the id of the vet to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the vet, or with status {@code 404 (Not Found)}.
+     * @param request the request, with its {@code If-None-Match} or {@code If-Modified-Since} headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the vet, or with status {@code 304 (Not Modified)}
+     * if the client has its current version, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/vets/{id}")
-    public ResponseEntity<Vet> getVet(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<VetDTO> getVet(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Vet : {}", id);
-        Optional<Vet> vet = vetRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(vet);
+        // The vet and its lazily loaded specialities are read from the second-level cache, unlike with a fetch join
+        return ConditionalGetUtil.wrapOrNotModified(vetRepository.findVersionById(id), request,
+            () -> vetRepository.findById(id).map(vetMapper::toDto));
     }
 
     /**
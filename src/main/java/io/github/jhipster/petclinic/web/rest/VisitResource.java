@@ -1,7 +1,14 @@
 package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.PetRepository;
 import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.repository.projection.VisitDTO;
+import io.github.jhipster.petclinic.service.BatchService;
+import io.github.jhipster.petclinic.service.ScheduleService;
+import io.github.jhipster.petclinic.service.VetDirectoryService;
+import io.github.jhipster.petclinic.service.VisitService;
+import io.github.jhipster.petclinic.service.dto.BatchItemResultDTO;
 import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
 
 import io.github.jhipster.web.util.HeaderUtil;
@@ -10,10 +17,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -31,29 +41,52 @@ public class VisitResource {
 
     private static final String ENTITY_NAME = "visit";
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final VisitRepository visitRepository;
 
-    public VisitResource(VisitRepository visitRepository) {
+    private final VisitService visitService;
+
+    private final BatchService batchService;
+
+    private final ScheduleService scheduleService;
+
+    private final VetDirectoryService vetDirectoryService;
+
+    private final PetRepository petRepository;
+
+    public VisitResource(VisitRepository visitRepository, VisitService visitService, BatchService batchService,
+                         ScheduleService scheduleService, VetDirectoryService vetDirectoryService, PetRepository petRepository) {
         this.visitRepository = visitRepository;
+        this.visitService = visitService;
+        this.batchService = batchService;
+        this.scheduleService = scheduleService;
+        this.vetDirectoryService = vetDirectoryService;
+        this.petRepository = petRepository;
     }
 
     /**
      * {@code POST  /visits} : Create a new visit.
      *
      * @param visit the visit to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new visit, or with status {@code 400 (Bad Request)} if the visit has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new visit, or with status {@code 400 (Bad Request)} if the visit has already an ID,
+     * or with status {@code 409 (Conflict)} if its slot is already booked.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/visits")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ResponseEntity<Visit> createVisit(@Valid @RequestBody Visit visit) throws URISyntaxException {
         log.debug("REST request to save Visit : {}", visit);
         if (visit.getId() != null) {
             throw new BadRequestAlertException("A new visit cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        Visit result = visitRepository.save(visit);
+        if (isScheduled(visit) && !scheduleService.isBookable(visit.getDate(), visit.getSlot())) {
+            throw new BadRequestAlertException("Invalid slot", ENTITY_NAME, "slotinvalid");
+        }
+        Visit result = scheduleService.schedule(validateSchedule(visit));
         return ResponseEntity.created(new URI("/api/visits/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
@@ -65,30 +98,69 @@ public class VisitResource {
      * @param visit the visit to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated visit,
      * or with status {@code 400 (Bad Request)} if the visit is not valid,
+     * or with status {@code 409 (Conflict)} if the visit was updated since it was read, or if its new slot is already booked,
      * or with status {@code 500 (Internal Server Error)} if the visit couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/visits")
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ResponseEntity<Visit> updateVisit(@Valid @RequestBody Visit visit) throws URISyntaxException {
         log.debug("REST request to update Visit : {}", visit);
         if (visit.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
-        Visit result = visitRepository.save(visit);
+        if (isScheduled(visit) && !scheduleService.isValidSlot(visit.getSlot())) {
+            throw new BadRequestAlertException("Invalid slot", ENTITY_NAME, "slotinvalid");
+        }
+        Visit result = scheduleService.schedule(validateSchedule(visit));
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, visit.getId().toString()))
             .body(result);
     }
 
+    /**
+     * {@code POST  /visits/batch} : Create or update a batch of visits in a single transaction.
+     * <p>
+     * Visits without an ID are created, the others are updated. Invalid visits, visits whose ID doesn't exist and visits in a slot already booked are skipped.
+     *
+     * @param visits the visits to save, at most {@link BatchService#MAX_BATCH_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each visit,
+     * or with status {@code 400 (Bad Request)} if the batch is too large,
+     * or with status {@code 409 (Conflict)} if a slot was booked by another instance of the application.
+     */
+    @PostMapping("/visits/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> saveVisitsInBatch(@RequestBody List<Visit> visits) {
+        log.debug("REST request to save a batch of {} Visits", visits.size());
+        if (visits.size() > BatchService.MAX_BATCH_SIZE) {
+            throw new BadRequestAlertException("A batch cannot contain more than " + BatchService.MAX_BATCH_SIZE + " visits", ENTITY_NAME, "batchtoolarge");
+        }
+        return ResponseEntity.ok(batchService.saveAll(visits, Visit::getId, scheduleService.getBatchWriter()));
+    }
+
     /**
      * {@code GET  /visits} : get all the visits.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of visits in body.
      */
     @GetMapping("/visits")
-    public List<Visit> getAllVisits() {
+    @Transactional(readOnly = true)
+    public List<VisitDTO> getAllVisits() {
         log.debug("REST request to get all Visits");
-        return visitRepository.findAll();
+        return visitRepository.findAllDto();
+    }
+
+    /**
+     * {@code GET  /visits/stream} : stream all the visits as newline-delimited JSON.
+     *
+     * @param response the response to write the visits to.
+     * @throws IOException if the visits couldn't be written.
+     */
+    @GetMapping(value = "/visits/stream", produces = APPLICATION_NDJSON_VALUE)
+    @Transactional(readOnly = true)
+    public void streamAllVisits(HttpServletResponse response) throws IOException {
+        log.debug("REST request to stream all Visits");
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        visitService.exportAll(response.getOutputStream());
     }
 
     /**
@@ -98,9 +170,10 @@ public class VisitResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the visit, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/visits/{id}")
-    public ResponseEntity<Visit> getVisit(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<VisitDTO> getVisit(@PathVariable Long id) {
         log.debug("REST request to get Visit : {}", id);
-        Optional<Visit> visit = visitRepository.findById(id);
+        Optional<VisitDTO> visit = visitRepository.findDtoById(id);
         return ResponseUtil.wrapOrNotFound(visit);
     }
 
@@ -116,4 +189,24 @@ public class VisitResource {
         visitRepository.deleteById(id);
         return ResponseEntity.noContent().headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString())).build();
     }
+
+    private static boolean isScheduled(Visit visit) {
+        return visit.getVet() != null && visit.getSlot() != null;
+    }
+
+    /**
+     * Check the pet and the vet of a scheduled visit, which would otherwise be seen as a booked slot.
+     */
+    private Visit validateSchedule(Visit visit) {
+        if (!isScheduled(visit)) {
+            return visit;
+        }
+        if (visit.getPet() != null && (visit.getPet().getId() == null || !petRepository.existsById(visit.getPet().getId()))) {
+            throw new BadRequestAlertException("Invalid pet", ENTITY_NAME, "petnotfound");
+        }
+        if (!vetDirectoryService.getDirectory().findById(visit.getVet().getId()).isPresent()) {
+            throw new BadRequestAlertException("Invalid vet", ENTITY_NAME, "vetnotfound");
+        }
+        return visit;
+    }
 }
@@ -103,6 +103,18 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(problem, request, HeaderUtil.createFailureAlert(applicationName,  true, problem.getEntityName(), problem.getErrorKey(), problem.getMessage()));
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleSlotAlreadyBookedException(io.github.jhipster.petclinic.service.SlotAlreadyBookedException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withType(ErrorConstants.SLOT_ALREADY_BOOKED_TYPE)
+            .withTitle(ex.getMessage())
+            .withStatus(Status.CONFLICT)
+            .with(MESSAGE_KEY, "error.slotbooked")
+            .with("params", "visit")
+            .build();
+        return create(ex, problem, request, HeaderUtil.createFailureAlert(applicationName, true, "visit", "slotbooked", ex.getMessage()));
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleInvalidPasswordException(io.github.jhipster.petclinic.service.InvalidPasswordException ex, NativeWebRequest request) {
         return create(new InvalidPasswordException(), request);
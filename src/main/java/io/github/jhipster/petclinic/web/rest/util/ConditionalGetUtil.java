@@ -0,0 +1,49 @@
+package io.github.jhipster.petclinic.web.rest.util;
+
+import io.github.jhipster.petclinic.repository.projection.EntityVersionDTO;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Utility class for the conditional GETs of entities.
+ * <p>
+ * The {@code ETag} and {@code Last-Modified} headers are derived from the version of the entity, which is read
+ * alone: a client sending back a matching {@code If-None-Match} or {@code If-Modified-Since} header gets a
+ * {@code 304 (Not Modified)} without the entity being loaded or serialized.
+ */
+public final class ConditionalGetUtil {
+
+    private ConditionalGetUtil() {
+    }
+
+    /**
+     * Answer the GET of an entity from its version.
+     *
+     * @param version the current version of the entity, empty if it doesn't exist.
+     * @param request the request, with its conditional headers.
+     * @param body the loader of the entity, called only if the client doesn't have its current version.
+     * @param <X> the type of the response body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)}, the {@code ETag} and {@code Last-Modified} headers
+     * and the entity as body, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
+     */
+    public static <X> ResponseEntity<X> wrapOrNotModified(Optional<EntityVersionDTO> version, WebRequest request,
+                                                          Supplier<Optional<X>> body) {
+        if (!version.isPresent()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        String eTag = version.get().getETag();
+        boolean notModified = version.get().getLastModifiedDate() == null
+            ? request.checkNotModified(eTag)
+            : request.checkNotModified(eTag, version.get().getLastModifiedDate().toEpochMilli());
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseUtil.wrapOrNotFound(body.get());
+    }
+}
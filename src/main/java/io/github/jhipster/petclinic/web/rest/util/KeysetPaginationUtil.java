@@ -0,0 +1,109 @@
+package io.github.jhipster.petclinic.web.rest.util;
+
+import io.github.jhipster.petclinic.web.rest.errors.BadRequestAlertException;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * Instead of a page number, clients pass an opaque {@code after} cursor pointing past the last
+ * row they received. Pages are then fetched with an indexed {@code id > :after} predicate and
+ * no count query, so every page costs the same whatever its depth.
+ * <p>
+ * Pagination uses the same principles as the <a href="https://developer.github.com/v3/#pagination">GitHub API</a>,
+ * and follows <a href="http://tools.ietf.org/html/rfc5988">RFC 5988 (Link header)</a>.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {
+    }
+
+    /**
+     * Encode an entity id as an opaque cursor.
+     *
+     * @param id the id of the last entity of a page.
+     * @return the cursor pointing past this entity.
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor sent by a client.
+     *
+     * @param cursor the cursor, an empty cursor meaning the first page.
+     * @param entityName the name of the paginated entity, used for error reporting.
+     * @return the id after which the page starts.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    public static Long decodeCursor(String cursor, String entityName) {
+        if (cursor.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid pagination cursor", entityName, "invalidcursor");
+        }
+    }
+
+    /**
+     * Build the pageable used to fetch a keyset page: only the page size of the request is kept,
+     * as the offset is given by the cursor and the order by the id.
+     *
+     * @param pageable the pagination information of the request.
+     * @return the pageable to pass to the repository.
+     */
+    public static Pageable keysetPageable(Pageable pageable) {
+        return PageRequest.of(0, pageable.getPageSize());
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} fetched by keyset.
+     *
+     * @param uriBuilder the URI builder of the request.
+     * @param slice the slice.
+     * @param idExtractor the function giving the id of an entity of the slice.
+     * @param <T> the type of the slice content.
+     * @return the http headers, with a {@code Link} to the first page and, if any, to the next one.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice,
+                                                                      Function<T, Long> idExtractor) {
+        StringBuilder link = new StringBuilder();
+        List<T> content = slice.getContent();
+        if (slice.hasNext()) {
+            String next = encodeCursor(idExtractor.apply(content.get(content.size() - 1)));
+            link.append(prepareLink(uriBuilder, next, slice.getSize(), "next")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, "", slice.getSize(), "first"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page")
+            .replaceQueryParam(AFTER_PARAMETER, cursor)
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Utility classes for the REST controllers.
+ */
+package io.github.jhipster.petclinic.web.rest.util;
@@ -1,20 +1,20 @@
 import React, { useEffect } from 'react';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
-import { Button, Row, Col } from 'reactstrap';
-import { Translate, ICrudGetAction } from 'react-jhipster';
+import { Button, Row, Col, Table } from 'reactstrap';
+import { Translate, ICrudGetAction, TextFormat } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
-import { getEntity } from './owner.reducer';
-import { IOwner } from 'app/shared/model/owner.model';
+import { getEntityDetails } from './owner.reducer';
+import { IOwnerDetails } from 'app/shared/model/owner-details.model';
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
 
 export interface IOwnerDetailProps extends StateProps, DispatchProps, RouteComponentProps<{ id: string }> {}
 
 export const OwnerDetail = (props: IOwnerDetailProps) => {
   useEffect(() => {
-    props.getEntity(props.match.params.id);
+    props.getEntityDetails(props.match.params.id);
   }, []);
 
   const { ownerEntity } = props;
@@ -56,6 +56,60 @@ export const OwnerDetail = (props: IOwnerDetailProps) => {
           </dt>
           <dd>{ownerEntity.telephone}</dd>
         </dl>
+        <h4>
+          <Translate contentKey="petclinicApp.pet.home.title">Pets</Translate>
+        </h4>
+        {ownerEntity.pets && ownerEntity.pets.length > 0 ? (
+          <Table responsive>
+            <thead>
+              <tr>
+                <th>
+                  <Translate contentKey="petclinicApp.pet.name">Name</Translate>
+                </th>
+                <th>
+                  <Translate contentKey="petclinicApp.pet.birthDate">Birth Date</Translate>
+                </th>
+                <th>
+                  <Translate contentKey="petclinicApp.pet.type">Type</Translate>
+                </th>
+                <th>
+                  <Translate contentKey="petclinicApp.visit.home.title">Visits</Translate>
+                </th>
+              </tr>
+            </thead>
+            <tbody>
+              {ownerEntity.pets.map(pet => (
+                <tr key={`pet-${pet.id}`}>
+                  <td>
+                    <Link to={`/pet/${pet.id}`}>{pet.name}</Link>
+                  </td>
+                  <td>
+                    <TextFormat type="date" value={pet.birthDate} format={APP_LOCAL_DATE_FORMAT} />
+                  </td>
+                  <td>
+                    <Translate contentKey={`petclinicApp.PetType.${pet.type}`} />
+                  </td>
+                  <td>
+                    <dl>
+                      {pet.visits.map(visit => (
+                        <React.Fragment key={`visit-${visit.id}`}>
+                          <dt>
+                            <TextFormat type="date" value={visit.date} format={APP_LOCAL_DATE_FORMAT} />
+                          </dt>
+                          <dd>{visit.description}</dd>
+                        </React.Fragment>
+                      ))}
+                    </dl>
+                  </td>
+                </tr>
+              ))}
+            </tbody>
+          </Table>
+        ) : (
+          <div className="alert alert-warning">
+            <Translate contentKey="petclinicApp.pet.home.notFound">No Pets found</Translate>
+          </div>
+        )}
         <Button tag={Link} to="/owner" replace color="info">
           <FontAwesomeIcon icon="arrow-left" />{' '}
           <span className="d-none d-md-inline">
@@ -75,10 +129,10 @@ export const OwnerDetail = (props: IOwnerDetailProps) => {
 };
 
 const mapStateToProps = ({ owner }: IRootState) => ({
-  ownerEntity: owner.entity
+  ownerEntity: owner.details
 });
 
-const mapDispatchToProps = { getEntity };
+const mapDispatchToProps = { getEntityDetails };
 
 type StateProps = ReturnType<typeof mapStateToProps>;
 type DispatchProps = typeof mapDispatchToProps;
@@ -12,10 +12,12 @@ import { cleanEntity } from 'app/shared/util/entity-utils';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 
 import { IOwner, defaultValue } from 'app/shared/model/owner.model';
+import { IOwnerDetails, defaultValue as defaultDetailsValue } from 'app/shared/model/owner-details.model';
 
 export const ACTION_TYPES = {
   FETCH_OWNER_LIST: 'owner/FETCH_OWNER_LIST',
   FETCH_OWNER: 'owner/FETCH_OWNER',
+  FETCH_OWNER_DETAILS: 'owner/FETCH_OWNER_DETAILS',
   CREATE_OWNER: 'owner/CREATE_OWNER',
   UPDATE_OWNER: 'owner/UPDATE_OWNER',
   DELETE_OWNER: 'owner/DELETE_OWNER',
@@ -27,6 +29,7 @@ const initialState = {
   errorMessage: null,
   entities: [] as ReadonlyArray<IOwner>,
   entity: defaultValue,
+  details: defaultDetailsValue,
   links: { next: 0 },
   updating: false,
   totalItems: 0,
@@ -41,6 +44,7 @@ export default (state: OwnerState = initialState, action): OwnerState => {
   switch (action.type) {
     case REQUEST(ACTION_TYPES.FETCH_OWNER_LIST):
     case REQUEST(ACTION_TYPES.FETCH_OWNER):
+    case REQUEST(ACTION_TYPES.FETCH_OWNER_DETAILS):
       return {
         ...state,
         errorMessage: null,
@@ -58,6 +62,7 @@ export default (state: OwnerState = initialState, action): OwnerState => {
       };
     case FAILURE(ACTION_TYPES.FETCH_OWNER_LIST):
     case FAILURE(ACTION_TYPES.FETCH_OWNER):
+    case FAILURE(ACTION_TYPES.FETCH_OWNER_DETAILS):
     case FAILURE(ACTION_TYPES.CREATE_OWNER):
     case FAILURE(ACTION_TYPES.UPDATE_OWNER):
     case FAILURE(ACTION_TYPES.DELETE_OWNER):
@@ -85,6 +90,12 @@ export default (state: OwnerState = initialState, action): OwnerState => {
         loading: false,
         entity: action.payload.data
       };
+    case SUCCESS(ACTION_TYPES.FETCH_OWNER_DETAILS):
+      return {
+        ...state,
+        loading: false,
+        details: action.payload.data
+      };
     case SUCCESS(ACTION_TYPES.CREATE_OWNER):
     case SUCCESS(ACTION_TYPES.UPDATE_OWNER):
       return {
@@ -129,6 +140,14 @@ export const getEntity: ICrudGetAction<IOwner> = id => {
   };
 };
 
+export const getEntityDetails: ICrudGetAction<IOwnerDetails> = id => {
+  const requestUrl = `${apiUrl}/${id}/details`;
+  return {
+    type: ACTION_TYPES.FETCH_OWNER_DETAILS,
+    payload: axios.get<IOwnerDetails>(requestUrl)
+  };
+};
+
 export const createEntity: ICrudPutAction<IOwner> = entity => async dispatch => {
   const result = await dispatch({
     type: ACTION_TYPES.CREATE_OWNER,
@@ -1,5 +1,12 @@
 import axios from 'axios';
-import { ICrudGetAction, ICrudGetAllAction, ICrudPutAction, ICrudDeleteAction } from 'react-jhipster';
+import {
+  parseHeaderForLinks,
+  loadMoreDataWhenScrolled,
+  ICrudGetAction,
+  ICrudGetAllAction,
+  ICrudPutAction,
+  ICrudDeleteAction
+} from 'react-jhipster';
 
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
@@ -8,6 +15,7 @@ import { IPet, defaultValue } from 'app/shared/model/pet.model';
 
 export const ACTION_TYPES = {
   FETCH_PET_LIST: 'pet/FETCH_PET_LIST',
+  SEARCH_PETS: 'pet/SEARCH_PETS',
   FETCH_PET: 'pet/FETCH_PET',
   CREATE_PET: 'pet/CREATE_PET',
   UPDATE_PET: 'pet/UPDATE_PET',
@@ -19,8 +27,11 @@ const initialState = {
   loading: false,
   errorMessage: null,
   entities: [] as ReadonlyArray<IPet>,
+  searchResults: [] as ReadonlyArray<IPet>,
   entity: defaultValue,
+  links: { next: 0 },
   updating: false,
+  totalItems: 0,
   updateSuccess: false
 };
 
@@ -48,6 +59,7 @@ export default (state: PetState = initialState, action): PetState => {
         updating: true
       };
     case FAILURE(ACTION_TYPES.FETCH_PET_LIST):
+    case FAILURE(ACTION_TYPES.SEARCH_PETS):
     case FAILURE(ACTION_TYPES.FETCH_PET):
     case FAILURE(ACTION_TYPES.CREATE_PET):
     case FAILURE(ACTION_TYPES.UPDATE_PET):
@@ -59,11 +71,21 @@ export default (state: PetState = initialState, action): PetState => {
         updateSuccess: false,
         errorMessage: action.payload
       };
-    case SUCCESS(ACTION_TYPES.FETCH_PET_LIST):
+    case SUCCESS(ACTION_TYPES.FETCH_PET_LIST): {
+      const links = parseHeaderForLinks(action.payload.headers.link);
+
       return {
         ...state,
         loading: false,
-        entities: action.payload.data
+        links,
+        entities: loadMoreDataWhenScrolled(state.entities, action.payload.data, links),
+        totalItems: parseInt(action.payload.headers['x-total-count'], 10)
+      };
+    }
+    case SUCCESS(ACTION_TYPES.SEARCH_PETS):
+      return {
+        ...state,
+        searchResults: action.payload.data
       };
     case SUCCESS(ACTION_TYPES.FETCH_PET):
       return {
@@ -99,10 +121,22 @@ const apiUrl = 'api/pets';
 
 // Actions
 
-export const getEntities: ICrudGetAllAction<IPet> = (page, size, sort) => ({
-  type: ACTION_TYPES.FETCH_PET_LIST,
-  payload: axios.get<IPet>(`${apiUrl}?cacheBuster=${new Date().getTime()}`)
-});
+export const getEntities: ICrudGetAllAction<IPet> = (page, size, sort) => {
+  const requestUrl = `${apiUrl}${sort ? `?page=${page}&size=${size}&sort=${sort}` : ''}`;
+  return {
+    type: ACTION_TYPES.FETCH_PET_LIST,
+    payload: axios.get<IPet>(`${requestUrl}${sort ? '&' : '?'}cacheBuster=${new Date().getTime()}`)
+  };
+};
+
+// The first page of the pets whose name contains the search, kept apart from the scrolled list
+export const searchEntities = (name: string, size: number) => {
+  const filter = name ? `name.contains=${encodeURIComponent(name)}&` : '';
+  return {
+    type: ACTION_TYPES.SEARCH_PETS,
+    payload: axios.get<IPet>(`${apiUrl}?${filter}page=0&size=${size}&sort=name,asc&cacheBuster=${new Date().getTime()}`)
+  };
+};
 
 export const getEntity: ICrudGetAction<IPet> = id => {
   const requestUrl = `${apiUrl}/${id}`;
@@ -117,7 +151,6 @@ export const createEntity: ICrudPutAction<IPet> = entity => async dispatch => {
     type: ACTION_TYPES.CREATE_PET,
     payload: axios.post(apiUrl, cleanEntity(entity))
   });
-  dispatch(getEntities());
   return result;
 };
 
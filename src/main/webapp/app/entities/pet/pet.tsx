@@ -1,22 +1,70 @@
 import React, { useState, useEffect } from 'react';
+import InfiniteScroll from 'react-infinite-scroller';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Col, Row, Table } from 'reactstrap';
-import { Translate, ICrudGetAllAction, TextFormat } from 'react-jhipster';
+import { Translate, ICrudGetAllAction, TextFormat, getSortState, IPaginationBaseState } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { IRootState } from 'app/shared/reducers';
-import { getEntities } from './pet.reducer';
+import { getEntities, reset } from './pet.reducer';
 import { IPet } from 'app/shared/model/pet.model';
 import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
+import { ITEMS_PER_PAGE } from 'app/shared/util/pagination.constants';
 
 export interface IPetProps extends StateProps, DispatchProps, RouteComponentProps<{ url: string }> {}
 
 export const Pet = (props: IPetProps) => {
+  const [paginationState, setPaginationState] = useState(getSortState(props.location, ITEMS_PER_PAGE));
+  const [sorting, setSorting] = useState(false);
+
+  const getAllEntities = () => {
+    props.getEntities(paginationState.activePage - 1, paginationState.itemsPerPage, `${paginationState.sort},${paginationState.order}`);
+  };
+
+  const resetAll = () => {
+    props.reset();
+    setPaginationState({
+      ...paginationState,
+      activePage: 1
+    });
+  };
+
   useEffect(() => {
-    props.getEntities();
+    resetAll();
   }, []);
 
+  useEffect(() => {
+    getAllEntities();
+  }, [paginationState.activePage]);
+
+  const handleLoadMore = () => {
+    if (window.pageYOffset > 0) {
+      setPaginationState({
+        ...paginationState,
+        activePage: paginationState.activePage + 1
+      });
+    }
+  };
+
+  useEffect(() => {
+    if (sorting) {
+      getAllEntities();
+      setSorting(false);
+    }
+  }, [sorting]);
+
+  const sort = p => () => {
+    props.reset();
+    setPaginationState({
+      ...paginationState,
+      activePage: 1,
+      order: paginationState.order === 'asc' ? 'desc' : 'asc',
+      sort: p
+    });
+    setSorting(true);
+  };
+
   const { petList, match, loading } = props;
   return (
     <div>
@@ -29,77 +77,86 @@ export const Pet = (props: IPetProps) => {
         </Link>
       </h2>
       <div className="table-responsive">
-        {petList && petList.length > 0 ? (
-          <Table responsive>
-            <thead>
-              <tr>
-                <th>
-                  <Translate contentKey="global.field.id">ID</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="petclinicApp.pet.name">Name</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="petclinicApp.pet.birthDate">Birth Date</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="petclinicApp.pet.type">Type</Translate>
-                </th>
-                <th>
-                  <Translate contentKey="petclinicApp.pet.owner">Owner</Translate>
-                </th>
-                <th />
-              </tr>
-            </thead>
-            <tbody>
-              {petList.map((pet, i) => (
-                <tr key={`entity-${i}`}>
-                  <td>
-                    <Button tag={Link} to={`${match.url}/${pet.id}`} color="link" size="sm">
-                      {pet.id}
-                    </Button>
-                  </td>
-                  <td>{pet.name}</td>
-                  <td>
-                    <TextFormat type="date" value={pet.birthDate} format={APP_LOCAL_DATE_FORMAT} />
-                  </td>
-                  <td>
-                    <Translate contentKey={`petclinicApp.PetType.${pet.type}`} />
-                  </td>
-                  <td>{pet.owner ? <Link to={`owner/${pet.owner.id}`}>{pet.owner.id}</Link> : ''}</td>
-                  <td className="text-right">
-                    <div className="btn-group flex-btn-group-container">
-                      <Button tag={Link} to={`${match.url}/${pet.id}`} color="info" size="sm">
-                        <FontAwesomeIcon icon="eye" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.view">View</Translate>
-                        </span>
-                      </Button>
-                      <Button tag={Link} to={`${match.url}/${pet.id}/edit`} color="primary" size="sm">
-                        <FontAwesomeIcon icon="pencil-alt" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.edit">Edit</Translate>
-                        </span>
-                      </Button>
-                      <Button tag={Link} to={`${match.url}/${pet.id}/delete`} color="danger" size="sm">
-                        <FontAwesomeIcon icon="trash" />{' '}
-                        <span className="d-none d-md-inline">
-                          <Translate contentKey="entity.action.delete">Delete</Translate>
-                        </span>
-                      </Button>
-                    </div>
-                  </td>
+        <InfiniteScroll
+          pageStart={paginationState.activePage}
+          loadMore={handleLoadMore}
+          hasMore={paginationState.activePage - 1 < props.links.next}
+          loader={<div className="loader">Loading ...</div>}
+          threshold={0}
+          initialLoad={false}
+        >
+          {petList && petList.length > 0 ? (
+            <Table responsive>
+              <thead>
+                <tr>
+                  <th className="hand" onClick={sort('id')}>
+                    <Translate contentKey="global.field.id">ID</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th className="hand" onClick={sort('name')}>
+                    <Translate contentKey="petclinicApp.pet.name">Name</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th className="hand" onClick={sort('birthDate')}>
+                    <Translate contentKey="petclinicApp.pet.birthDate">Birth Date</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th className="hand" onClick={sort('type')}>
+                    <Translate contentKey="petclinicApp.pet.type">Type</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th className="hand" onClick={sort('owner.id')}>
+                    <Translate contentKey="petclinicApp.pet.owner">Owner</Translate> <FontAwesomeIcon icon="sort" />
+                  </th>
+                  <th />
                 </tr>
-              ))}
-            </tbody>
-          </Table>
-        ) : (
-          !loading && (
-            <div className="alert alert-warning">
-              <Translate contentKey="petclinicApp.pet.home.notFound">No Pets found</Translate>
-            </div>
-          )
-        )}
+              </thead>
+              <tbody>
+                {petList.map((pet, i) => (
+                  <tr key={`entity-${i}`}>
+                    <td>
+                      <Button tag={Link} to={`${match.url}/${pet.id}`} color="link" size="sm">
+                        {pet.id}
+                      </Button>
+                    </td>
+                    <td>{pet.name}</td>
+                    <td>
+                      <TextFormat type="date" value={pet.birthDate} format={APP_LOCAL_DATE_FORMAT} />
+                    </td>
+                    <td>
+                      <Translate contentKey={`petclinicApp.PetType.${pet.type}`} />
+                    </td>
+                    <td>{pet.owner ? <Link to={`owner/${pet.owner.id}`}>{pet.owner.id}</Link> : ''}</td>
+                    <td className="text-right">
+                      <div className="btn-group flex-btn-group-container">
+                        <Button tag={Link} to={`${match.url}/${pet.id}`} color="info" size="sm">
+                          <FontAwesomeIcon icon="eye" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.view">View</Translate>
+                          </span>
+                        </Button>
+                        <Button tag={Link} to={`${match.url}/${pet.id}/edit`} color="primary" size="sm">
+                          <FontAwesomeIcon icon="pencil-alt" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.edit">Edit</Translate>
+                          </span>
+                        </Button>
+                        <Button tag={Link} to={`${match.url}/${pet.id}/delete`} color="danger" size="sm">
+                          <FontAwesomeIcon icon="trash" />{' '}
+                          <span className="d-none d-md-inline">
+                            <Translate contentKey="entity.action.delete">Delete</Translate>
+                          </span>
+                        </Button>
+                      </div>
+                    </td>
+                  </tr>
+                ))}
+              </tbody>
+            </Table>
+          ) : (
+            !loading && (
+              <div className="alert alert-warning">
+                <Translate contentKey="petclinicApp.pet.home.notFound">No Pets found</Translate>
+              </div>
+            )
+          )}
+        </InfiniteScroll>
       </div>
     </div>
   );
@@ -107,11 +164,16 @@ export const Pet = (props: IPetProps) => {
 
 const mapStateToProps = ({ pet }: IRootState) => ({
   petList: pet.entities,
-  loading: pet.loading
+  loading: pet.loading,
+  totalItems: pet.totalItems,
+  links: pet.links,
+  entity: pet.entity,
+  updateSuccess: pet.updateSuccess
 });
 
 const mapDispatchToProps = {
-  getEntities
+  getEntities,
+  reset
 };
 
 type StateProps = ReturnType<typeof mapStateToProps>;
@@ -1,24 +1,30 @@
 import React, { useState, useEffect } from 'react';
 import { connect } from 'react-redux';
 import { Link, RouteComponentProps } from 'react-router-dom';
-import { Button, Row, Col, Label } from 'reactstrap';
+import { Button, Row, Col, Label, Input } from 'reactstrap';
 import { AvFeedback, AvForm, AvGroup, AvInput, AvField } from 'availity-reactstrap-validation';
 import { Translate, translate, ICrudGetAction, ICrudGetAllAction, ICrudPutAction } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 import { IRootState } from 'app/shared/reducers';
 
 import { IPet } from 'app/shared/model/pet.model';
-import { getEntities as getPets } from 'app/entities/pet/pet.reducer';
+import { searchEntities as searchPets } from 'app/entities/pet/pet.reducer';
 import { getEntity, updateEntity, createEntity, reset } from './visit.reducer';
 import { IVisit } from 'app/shared/model/visit.model';
 import { convertDateTimeFromServer, convertDateTimeToServer, displayDefaultDateTime } from 'app/shared/util/date-utils';
 import { mapIdList } from 'app/shared/util/entity-utils';
 
+/**
+ * Number of pets listed by a search, narrowed by typing more of the name.
+ */
+const PET_SEARCH_SIZE = 20;
+
 export interface IVisitUpdateProps extends StateProps, DispatchProps, RouteComponentProps<{ id: string }> {}
 
 export const VisitUpdate = (props: IVisitUpdateProps) => {
   const [petId, setPetId] = useState('0');
   const [isNew, setIsNew] = useState(!props.match.params || !props.match.params.id);
+  const [petName, setPetName] = useState('');
 
   const { visitEntity, pets, loading, updating } = props;
 
@@ -32,21 +38,30 @@ export const VisitUpdate = (props: IVisitUpdateProps) => {
     } else {
       props.getEntity(props.match.params.id);
     }
-
-    props.getPets();
   }, []);
 
+  useEffect(() => {
+    props.searchPets(petName, PET_SEARCH_SIZE);
+  }, [petName]);
+
   useEffect(() => {
     if (props.updateSuccess) {
       handleClose();
     }
   }, [props.updateSuccess]);
 
+  // The pet of the visit stays selectable when the search doesn't find it
+  const petOptions =
+    !isNew && visitEntity.pet && !pets.some(pet => pet.id === visitEntity.pet.id) ? [visitEntity.pet, ...pets] : pets;
+
   const saveEntity = (event, errors, values) => {
     if (errors.length === 0) {
       const entity = {
         ...visitEntity,
-        ...values
+        ...values,
+        // The booking isn't edited by this form, and is saved back as it was read
+        vet: visitEntity.vet,
+        slot: visitEntity.slot
       };
 
       if (isNew) {
@@ -112,12 +127,20 @@ export const VisitUpdate = (props: IVisitUpdateProps) => {
                 <Label for="visit-pet">
                   <Translate contentKey="petclinicApp.visit.pet">Pet</Translate>
                 </Label>
+                <Input
+                  id="visit-pet-search"
+                  type="search"
+                  className="form-control mb-1"
+                  placeholder={translate('petclinicApp.visit.petSearch')}
+                  value={petName}
+                  onChange={event => setPetName(event.target.value)}
+                />
                 <AvInput id="visit-pet" type="select" className="form-control" name="pet.id">
                   <option value="" key="0" />
-                  {pets
-                    ? pets.map(otherEntity => (
+                  {petOptions
+                    ? petOptions.map(otherEntity => (
                         <option value={otherEntity.id} key={otherEntity.id}>
-                          {otherEntity.id}
+                          {otherEntity.name ? `${otherEntity.name} (${otherEntity.id})` : otherEntity.id}
                         </option>
                       ))
                     : null}
@@ -145,7 +168,7 @@ export const VisitUpdate = (props: IVisitUpdateProps) => {
 };
 
 const mapStateToProps = (storeState: IRootState) => ({
-  pets: storeState.pet.entities,
+  pets: storeState.pet.searchResults,
   visitEntity: storeState.visit.entity,
   loading: storeState.visit.loading,
   updating: storeState.visit.updating,
@@ -153,7 +176,7 @@ const mapStateToProps = (storeState: IRootState) => ({
 });
 
 const mapDispatchToProps = {
-  getPets,
+  searchPets,
   getEntity,
   updateEntity,
   createEntity,
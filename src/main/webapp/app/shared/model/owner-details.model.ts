@@ -0,0 +1,28 @@
+import { Moment } from 'moment';
+import { PetType } from 'app/shared/model/enumerations/pet-type.model';
+
+export interface IVisitDetails {
+  id?: number;
+  date?: Moment;
+  description?: string;
+}
+
+export interface IPetDetails {
+  id?: number;
+  name?: string;
+  birthDate?: Moment;
+  type?: PetType;
+  visits?: IVisitDetails[];
+}
+
+export interface IOwnerDetails {
+  id?: number;
+  firstName?: string;
+  lastName?: string;
+  address?: string;
+  city?: string;
+  telephone?: string;
+  pets?: IPetDetails[];
+}
+
+export const defaultValue: Readonly<IOwnerDetails> = {};
@@ -2,6 +2,7 @@ import { IPet } from 'app/shared/model/pet.model';
 
 export interface IOwner {
   id?: number;
+  version?: number;
   firstName?: string;
   lastName?: string;
   address?: string;
@@ -5,6 +5,7 @@ import { PetType } from 'app/shared/model/enumerations/pet-type.model';
 
 export interface IPet {
   id?: number;
+  version?: number;
   name?: string;
   birthDate?: Moment;
   type?: PetType;
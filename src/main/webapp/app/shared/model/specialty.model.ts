@@ -2,6 +2,7 @@ import { IVet } from 'app/shared/model/vet.model';
 
 export interface ISpecialty {
   id?: number;
+  version?: number;
   name?: string;
   vets?: IVet[];
 }
@@ -2,6 +2,7 @@ import { ISpecialty } from 'app/shared/model/specialty.model';
 
 export interface IVet {
   id?: number;
+  version?: number;
   firstName?: string;
   lastName?: string;
   specialities?: ISpecialty[];
@@ -1,11 +1,15 @@
 import { Moment } from 'moment';
 import { IPet } from 'app/shared/model/pet.model';
+import { IVet } from 'app/shared/model/vet.model';
 
 export interface IVisit {
   id?: number;
+  version?: number;
   date?: Moment;
   description?: string;
   pet?: IPet;
+  vet?: IVet;
+  slot?: number;
 }
 
 export const defaultValue: Readonly<IVisit> = {};
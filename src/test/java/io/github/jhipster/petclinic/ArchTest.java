@@ -26,4 +26,20 @@ class ArchTest {
         .because("Services and repositories should not depend on web layer")
         .check(importedClasses);
     }
+
+    @Test
+    void repositoriesShouldNotDependOnServiceLayer() {
+
+        JavaClasses importedClasses = new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
+            .importPackages("io.github.jhipster.petclinic");
+
+        noClasses()
+            .that()
+                .resideInAnyPackage("io.github.jhipster.petclinic.repository..")
+            .should().dependOnClassesThat()
+                .resideInAnyPackage("..io.github.jhipster.petclinic.service..")
+        .because("Repositories should not depend on service layer")
+        .check(importedClasses);
+    }
 }
@@ -0,0 +1,149 @@
+package io.github.jhipster.petclinic.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.github.jhipster.config.JHipsterProperties;
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ehcache.config.ResourceType;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link CacheConfiguration}, with both JCache providers.
+ */
+public class CacheConfigurationTest {
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getCaffeine().setMaxEntries(100);
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region pets = new ApplicationProperties.Cache.Region();
+        pets.setMaxEntries(5000L);
+        applicationProperties.getCache().getRegions().put("Owner.pets", pets);
+        ApplicationProperties.Cache.Region usersByLogin = new ApplicationProperties.Cache.Region();
+        usersByLogin.setTimeToLive(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put(UserRepository.USERS_BY_LOGIN_CACHE, usersByLogin);
+    }
+
+    @AfterEach
+    public void close() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    public void ehcacheRegionsAreSizedSeparately() {
+        cacheManager = createCacheManager(EhcacheCachingProvider.class.getName());
+
+        assertThat(heapSize(Owner.class.getName() + ".pets")).isEqualTo(5000);
+        assertThat(heapSize(Owner.class.getName())).isEqualTo(100);
+        assertThat(heapSize(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo(100);
+    }
+
+    @Test
+    public void caffeineRegionsAreSizedSeparately() {
+        cacheManager = createCacheManager(CaffeineCachingProvider.class.getName());
+
+        CaffeineConfiguration<?, ?> pets = caffeineConfiguration(Owner.class.getName() + ".pets");
+        assertThat(pets.getMaximumSize()).isEqualTo(OptionalLong.of(5000));
+        assertThat(pets.isStoreByValue()).isFalse();
+        CaffeineConfiguration<?, ?> usersByLogin = caffeineConfiguration(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(usersByLogin.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+        assertThat(usersByLogin.getExpireAfterWrite()).isEqualTo(OptionalLong.of(TimeUnit.MINUTES.toNanos(10)));
+        assertThat(usersByLogin.isStoreByValue()).isTrue();
+    }
+
+    @Test
+    public void ehcacheRegionsHaveOffHeapAndDiskTiers(@TempDir Path persistenceDirectory) {
+        ApplicationProperties.Cache.Region visits = new ApplicationProperties.Cache.Region();
+        visits.setOffHeapSize(DataSize.ofMegabytes(1));
+        visits.setDiskSize(DataSize.ofMegabytes(10));
+        applicationProperties.getCache().getRegions().put("Pet.visits", visits);
+        applicationProperties.getCache().setPersistenceDirectory(persistenceDirectory.toString());
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+
+        org.ehcache.config.ResourcePools resourcePools = cacheManager.getCache(Pet.class.getName() + ".visits")
+            .unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(1024);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(10 * 1024);
+        assertThat(resourcePools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+        assertThat(cacheManager.getCache(Owner.class.getName()).unwrap(org.ehcache.Cache.class).getRuntimeConfiguration()
+            .getResourcePools().getResourceTypeSet()).containsOnly(ResourceType.Core.HEAP);
+        Cache<Object, Object> cache = cacheManager.getCache(Pet.class.getName() + ".visits");
+        for (long id = 1; id <= 1000; id++) {
+            cache.put(id, "visits of pet " + id);
+        }
+        assertThat(cache.get(1L)).isEqualTo("visits of pet 1");
+    }
+
+    @Test
+    public void regionStatisticsArePublished() {
+        cacheManager = createCacheManager(EhcacheCachingProvider.class.getName());
+        Cache<Object, Object> vets = cacheManager.getCache(Vet.class.getName());
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new JCacheMetrics(vets, Collections.emptyList()).bindTo(meterRegistry);
+
+        vets.get(1L);
+        vets.put(1L, "vet");
+        vets.get(1L);
+        for (long id = 2; id <= 150; id++) {
+            vets.put(id, "vet");
+        }
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    public void regionName() {
+        assertThat(CacheConfiguration.regionName(Owner.class.getName() + ".pets")).isEqualTo("Owner.pets");
+        assertThat(CacheConfiguration.regionName(UserRepository.USERS_BY_LOGIN_CACHE)).isEqualTo("usersByLogin");
+    }
+
+    private CacheManager createCacheManager(String provider) {
+        CacheManager cm = Caching.getCachingProvider(provider).getCacheManager();
+        new CacheConfiguration(jHipsterProperties, applicationProperties).cacheManagerCustomizer().customize(cm);
+        return cm;
+    }
+
+    private long heapSize(String cacheName) {
+        return cacheManager.getCache(cacheName).unwrap(org.ehcache.Cache.class).getRuntimeConfiguration()
+            .getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> caffeineConfiguration(String cacheName) {
+        return cacheManager.getCache(cacheName).getConfiguration(CaffeineConfiguration.class);
+    }
+}
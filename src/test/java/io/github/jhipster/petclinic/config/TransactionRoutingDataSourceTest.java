@@ -0,0 +1,78 @@
+package io.github.jhipster.petclinic.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link TransactionRoutingDataSource} class.
+ */
+public class TransactionRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private Connection primaryConnection;
+
+    private DataSource replica;
+
+    private Connection replicaConnection;
+
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        primary = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replica = mock(DataSource.class);
+        replicaConnection = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new LazyConnectionDataSourceProxy(new TransactionRoutingDataSource(primary, replica));
+        clearInvocations(primary, replica);
+    }
+
+    @Test
+    public void readOnlyTransactionUsesReplica() throws SQLException {
+        executeStatement(true);
+
+        verify(replicaConnection).createStatement();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    public void readWriteTransactionUsesPrimary() throws SQLException {
+        executeStatement(false);
+
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void noTransactionUsesPrimary() throws SQLException {
+        dataSource.getConnection().createStatement();
+
+        verify(primaryConnection).createStatement();
+        verify(replica, never()).getConnection();
+    }
+
+    private void executeStatement(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.execute(status -> {
+            try {
+                return DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.jhipster.petclinic.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link AuditEventPartitionRepository}, against a mocked MySQL database.
+ */
+public class AuditEventPartitionRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private AuditEventPartitionRepository auditEventPartitionRepository;
+
+    @BeforeEach
+    public void setup() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("MySQL");
+        when(jdbcTemplate.queryForObject(contains("partition_name = 'p_future'"), eq(Integer.class))).thenReturn(1);
+        when(jdbcTemplate.queryForList(contains("order by partition_ordinal_position"), eq(String.class)))
+            .thenReturn(Arrays.asList("p202608", "p202609", "p202610", "p_future"));
+        auditEventPartitionRepository = new AuditEventPartitionRepository(jdbcTemplate);
+    }
+
+    @Test
+    public void findMonthlyPartitions() {
+        assertThat(auditEventPartitionRepository.findMonthlyPartitions())
+            .containsExactly(YearMonth.of(2026, 8), YearMonth.of(2026, 9), YearMonth.of(2026, 10));
+    }
+
+    @Test
+    public void createMissingMonthlyPartitions() {
+        int created = auditEventPartitionRepository.createMonthlyPartitions(YearMonth.of(2026, 10), YearMonth.of(2026, 12));
+
+        assertThat(created).isEqualTo(2);
+        verify(jdbcTemplate).execute("alter table jhi_persistent_audit_event reorganize partition p_future into (" +
+            "partition p202611 values less than (1796083200), partition p_future values less than maxvalue)");
+        verify(jdbcTemplate).execute("alter table jhi_persistent_audit_event reorganize partition p_future into (" +
+            "partition p202612 values less than (1798761600), partition p_future values less than maxvalue)");
+    }
+
+    @Test
+    public void rolloverLockIsTakenWithoutWaiting() {
+        when(jdbcTemplate.queryForObject(contains("get_lock("), eq(Integer.class))).thenReturn(1, 0);
+
+        assertThat(auditEventPartitionRepository.tryLockRollover()).isTrue();
+        assertThat(auditEventPartitionRepository.tryLockRollover()).isFalse();
+        auditEventPartitionRepository.unlockRollover();
+
+        verify(jdbcTemplate, times(2)).queryForObject("select get_lock(concat(database(), '.jhi_persistent_audit_event'), 0)", Integer.class);
+        verify(jdbcTemplate).queryForObject("select release_lock(concat(database(), '.jhi_persistent_audit_event'))", Integer.class);
+    }
+
+    @Test
+    public void dropExpiredMonthlyPartitions() {
+        Map<String, Object> ids = new HashMap<>();
+        ids.put("event_count", 3L);
+        ids.put("min_id", 1001L);
+        ids.put("max_id", 1003L);
+        when(jdbcTemplate.queryForMap(contains("partition (p202608)"))).thenReturn(ids);
+
+        long dropped = auditEventPartitionRepository.dropMonthlyPartitionsBefore(Instant.parse("2026-09-15T00:00:00Z"), 2);
+
+        assertThat(dropped).isEqualTo(3);
+        verify(jdbcTemplate).update(contains("partition (p202608)"), eq(1001L), eq(1002L));
+        verify(jdbcTemplate).update(contains("partition (p202608)"), eq(1003L), eq(1004L));
+        verify(jdbcTemplate).execute("alter table jhi_persistent_audit_event drop partition p202608");
+        verify(jdbcTemplate, never()).execute("alter table jhi_persistent_audit_event drop partition p202609");
+    }
+
+    @Test
+    public void nothingIsPartitionedOnOtherDatabases() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+
+        assertThat(auditEventPartitionRepository.findMonthlyPartitions()).isEmpty();
+        assertThat(auditEventPartitionRepository.createMonthlyPartitions(YearMonth.of(2026, 10), YearMonth.of(2026, 12))).isZero();
+        assertThat(auditEventPartitionRepository.dropMonthlyPartitionsBefore(Instant.now(), 2)).isZero();
+        assertThat(auditEventPartitionRepository.tryLockRollover()).isTrue();
+        auditEventPartitionRepository.unlockRollover();
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(jdbcTemplate, never()).queryForObject(contains("lock("), eq(Integer.class));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link AuditEventWriter}.
+ * <p>
+ * The writers of these tests are not started, their events are written by {@link AuditEventWriter#flush()}
+ * in the test transaction.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@Transactional
+public class AuditEventWriterIT {
+
+    private static final int EVENT_COUNT = 120;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        persistenceAuditEventRepository.deleteAll();
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void eventsAreWrittenByBatches() {
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            assertThat(auditEventWriter.write(createEvent(i))).isTrue();
+        }
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(EVENT_COUNT);
+
+        assertThat(auditEventWriter.flush()).isEqualTo(EVENT_COUNT);
+        em.flush();
+
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(EVENT_COUNT);
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(0);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(EVENT_COUNT);
+        // One statement per batch of 25 inserts for each of the 2 tables, plus one sequence call per block of 50 ids
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 * (EVENT_COUNT / 25 + 1) + EVENT_COUNT / 50 + 1);
+    }
+
+    @Test
+    public void eventsAreDroppedWhenTheQueueIsFull() {
+        applicationProperties.getAuditEvents().setQueueCapacity(2);
+        AuditEventWriter auditEventWriter = createAuditEventWriter();
+
+        assertThat(auditEventWriter.write(createEvent(1))).isTrue();
+        assertThat(auditEventWriter.write(createEvent(2))).isTrue();
+        assertThat(auditEventWriter.write(createEvent(3))).isFalse();
+        assertThat(meterRegistry.get("audit.events.dropped").counter().count()).isEqualTo(1);
+
+        assertThat(auditEventWriter.flush()).isEqualTo(2);
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-3")).isEmpty();
+    }
+
+    private AuditEventWriter createAuditEventWriter() {
+        return new AuditEventWriter(persistenceAuditEventRepository, transactionManager, applicationProperties, meterRegistry);
+    }
+
+    private PersistentAuditEvent createEvent(int i) {
+        PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+        persistentAuditEvent.setPrincipal("test-user-" + i);
+        persistentAuditEvent.setAuditEventType("AUTHENTICATION_SUCCESS");
+        persistentAuditEvent.setAuditEventDate(Instant.now());
+        persistentAuditEvent.setData(Collections.singletonMap("remoteAddress", "127.0.0.1"));
+        return persistentAuditEvent;
+    }
+}
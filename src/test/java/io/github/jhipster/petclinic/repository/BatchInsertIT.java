@@ -0,0 +1,74 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.web.rest.PetResourceIT;
+import io.github.jhipster.petclinic.web.rest.VisitResourceIT;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests checking that {@link Pet} and {@link Visit} inserts are sent to the database as JDBC batches.
+ * <p>
+ * The measured insert throughput is logged, so this test can also be used as a rough benchmark.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@Transactional
+public class BatchInsertIT {
+
+    private static final int PET_COUNT = 2000;
+
+    private final Logger log = LoggerFactory.getLogger(BatchInsertIT.class);
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void enableStatistics() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void insertsAreBatched() {
+        long start = System.nanoTime();
+        for (int i = 0; i < PET_COUNT; i++) {
+            Pet pet = PetResourceIT.createEntity(em);
+            em.persist(pet);
+            em.persist(VisitResourceIT.createEntity(em).pet(pet));
+        }
+        em.flush();
+        long elapsed = System.nanoTime() - start;
+
+        int insertCount = 2 * PET_COUNT;
+        log.info("Inserted {} entities in {} ms ({} inserts/s), using {} statements",
+            insertCount, TimeUnit.NANOSECONDS.toMillis(elapsed), insertCount * TimeUnit.SECONDS.toNanos(1) / elapsed,
+            statistics.getPrepareStatementCount());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(insertCount);
+        // One statement per batch of 25 inserts, plus one sequence call per block of 50 ids
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(insertCount / 25 + insertCount / 50 + 2);
+    }
+}
@@ -2,9 +2,11 @@ package io.github.jhipster.petclinic.repository;
 
 import io.github.jhipster.petclinic.PetclinicApp;
 
+import io.github.jhipster.petclinic.config.ApplicationProperties;
 import io.github.jhipster.petclinic.config.Constants;
 import io.github.jhipster.petclinic.config.audit.AuditEventConverter;
 import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +15,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpSession;
@@ -38,11 +41,19 @@ public class CustomAuditEventRepositoryIT {
     @Autowired
     private AuditEventConverter auditEventConverter;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AuditEventWriter auditEventWriter;
+
     private CustomAuditEventRepository customAuditEventRepository;
 
     @BeforeEach
     public void setup() {
-        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter);
+        auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository, transactionManager,
+            new ApplicationProperties(), new SimpleMeterRegistry());
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter,
+            auditEventWriter);
         persistenceAuditEventRepository.deleteAll();
         Instant oneHourAgo = Instant.now().minusSeconds(3600);
 
@@ -71,6 +82,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -92,6 +104,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", largeData);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -116,6 +129,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", details);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -129,6 +143,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", null);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -141,6 +156,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent(Constants.ANONYMOUS_USER, "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
@@ -151,6 +167,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "AUTHORIZATION_FAILURE", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
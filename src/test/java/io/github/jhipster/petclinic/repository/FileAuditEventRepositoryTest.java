@@ -0,0 +1,174 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.config.Constants;
+import io.github.jhipster.petclinic.config.audit.AuditEventConverter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link FileAuditEventRepository}.
+ */
+public class FileAuditEventRepositoryTest {
+
+    private static final Instant START = Instant.parse("2026-10-01T00:00:00Z");
+
+    @TempDir
+    public Path directory;
+
+    private ApplicationProperties applicationProperties;
+
+    private FileAuditEventRepository fileAuditEventRepository;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditEvents().getFile().setDirectory(directory.toString());
+        applicationProperties.getAuditEvents().getFile().setSegmentSize(DataSize.ofKilobytes(4));
+        fileAuditEventRepository = open();
+    }
+
+    @AfterEach
+    public void close() throws IOException {
+        fileAuditEventRepository.close();
+    }
+
+    @Test
+    public void addAndFindAuditEvents() {
+        fileAuditEventRepository.add(event("test-user", "AUTHENTICATION_SUCCESS", 0));
+        fileAuditEventRepository.add(event("test-user", "AUTHENTICATION_FAILURE", 1));
+        fileAuditEventRepository.add(event("other-user", "AUTHENTICATION_SUCCESS", 2));
+
+        assertThat(fileAuditEventRepository.find("test-user", null, null))
+            .extracting(AuditEvent::getType).containsExactly("AUTHENTICATION_SUCCESS", "AUTHENTICATION_FAILURE");
+        assertThat(fileAuditEventRepository.find(null, START.plusSeconds(1), null))
+            .extracting(AuditEvent::getPrincipal).containsExactly("other-user");
+        AuditEvent auditEvent = fileAuditEventRepository.find("other-user", null, "AUTHENTICATION_SUCCESS").get(0);
+        assertThat(auditEvent.getTimestamp()).isEqualTo(START.plusSeconds(2));
+        assertThat(auditEvent.getData()).containsEntry("remoteAddress", "127.0.0.1");
+    }
+
+    @Test
+    public void anonymousAndAuthorizationFailureEventsAreIgnored() {
+        fileAuditEventRepository.add(event(Constants.ANONYMOUS_USER, "AUTHENTICATION_SUCCESS", 0));
+        fileAuditEventRepository.add(event("test-user", "AUTHORIZATION_FAILURE", 1));
+
+        assertThat(fileAuditEventRepository.find(null, null, null)).isEmpty();
+    }
+
+    @Test
+    public void findByDatesAcrossSegments() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            fileAuditEventRepository.add(event("user-" + i, "AUTHENTICATION_SUCCESS", i));
+        }
+        assertThat(segmentCount()).isGreaterThan(5);
+
+        Page<AuditEvent> page = fileAuditEventRepository.findByDates(START.plusSeconds(100), START.plusSeconds(299),
+            PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "auditEventDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(200);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent().get(0).getPrincipal()).isEqualTo("user-279");
+        assertThat(page.getContent().get(19).getPrincipal()).isEqualTo("user-260");
+        assertThat(fileAuditEventRepository.findAll(PageRequest.of(0, 10)).getContent().get(0).getPrincipal())
+            .isEqualTo("user-0");
+    }
+
+    @Test
+    public void findByDatesOfEventsAppendedOutOfOrder() {
+        for (int i = 0; i < 500; i++) {
+            // Each pair of events is appended in reverse order
+            int second = i % 2 == 0 ? i + 1 : i - 1;
+            fileAuditEventRepository.add(event("user-" + second, "AUTHENTICATION_SUCCESS", second));
+        }
+
+        Page<AuditEvent> page = fileAuditEventRepository.findByDates(START.plusSeconds(100), START.plusSeconds(299),
+            PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "auditEventDate")));
+
+        assertThat(page.getTotalElements()).isEqualTo(200);
+        assertThat(page.getContent()).extracting(AuditEvent::getPrincipal).startsWith("user-279", "user-278")
+            .endsWith("user-261", "user-260");
+        assertThat(fileAuditEventRepository.findAll(PageRequest.of(2, 5)).getContent())
+            .extracting(AuditEvent::getPrincipal).containsExactly("user-10", "user-11", "user-12", "user-13", "user-14");
+    }
+
+    @Test
+    public void findById() {
+        fileAuditEventRepository.add(event("test-user", "AUTHENTICATION_SUCCESS", 0));
+        fileAuditEventRepository.add(event("other-user", "AUTHENTICATION_SUCCESS", 1));
+        long firstSegment = 1L << 32;
+
+        assertThat(fileAuditEventRepository.find(firstSegment)).map(AuditEvent::getPrincipal).hasValue("test-user");
+        assertThat(fileAuditEventRepository.find(firstSegment + 1)).isEmpty();
+        assertThat(fileAuditEventRepository.find(2L << 32)).isEmpty();
+    }
+
+    @Test
+    public void reopenRebuildsTheIndexAndDropsIncompleteRecords() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            fileAuditEventRepository.add(event("user-" + i, "AUTHENTICATION_SUCCESS", i));
+        }
+        fileAuditEventRepository.close();
+        Path lastSegment;
+        try (Stream<Path> segments = Files.list(directory)) {
+            lastSegment = segments.sorted().reduce((first, second) -> second).get();
+        }
+        Files.write(lastSegment, new byte[] {0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        fileAuditEventRepository = open();
+        fileAuditEventRepository.add(event("user-100", "AUTHENTICATION_SUCCESS", 100));
+
+        assertThat(fileAuditEventRepository.findByDates(START.plusSeconds(90), null, PageRequest.of(0, 20)).getContent())
+            .extracting(AuditEvent::getPrincipal)
+            .containsExactly("user-90", "user-91", "user-92", "user-93", "user-94", "user-95", "user-96", "user-97",
+                "user-98", "user-99", "user-100");
+    }
+
+    @Test
+    public void deleteExpiredSegments() throws IOException {
+        for (int i = 0; i < 500; i++) {
+            fileAuditEventRepository.add(event("user-" + i, "AUTHENTICATION_SUCCESS", i));
+        }
+        long segmentCount = segmentCount();
+
+        long deleted = fileAuditEventRepository.deleteSegmentsBefore(START.plusSeconds(250));
+
+        assertThat(deleted).isPositive().isLessThanOrEqualTo(250);
+        assertThat(segmentCount()).isLessThan(segmentCount);
+        assertThat(fileAuditEventRepository.findAll(PageRequest.of(0, 1)).getTotalElements()).isEqualTo(500 - deleted);
+        assertThat(fileAuditEventRepository.find("user-250", null, null)).hasSize(1);
+    }
+
+    private FileAuditEventRepository open() throws IOException {
+        return new FileAuditEventRepository(applicationProperties, new AuditEventConverter());
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> segments = Files.list(directory)) {
+            return segments.count();
+        }
+    }
+
+    private static AuditEvent event(String principal, String type, int second) {
+        return new AuditEvent(START.plusSeconds(second), principal, type,
+            Collections.singletonMap("remoteAddress", "127.0.0.1"));
+    }
+}
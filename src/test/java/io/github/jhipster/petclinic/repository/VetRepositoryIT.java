@@ -0,0 +1,126 @@
+package io.github.jhipster.petclinic.repository;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.web.rest.SpecialtyResourceIT;
+import io.github.jhipster.petclinic.web.rest.VetResourceIT;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Integration tests checking that the pages of {@link Vet}s with their specialities are paginated by the database.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@Transactional
+public class VetRepositoryIT {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private VetRepository vetRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void enableStatistics() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void eagerPagesAreReadWithTwoQueries() {
+        Specialty specialty = SpecialtyResourceIT.createEntity(em);
+        em.persist(specialty);
+        long lastId = 0;
+        for (int i = 0; i < 3 * PAGE_SIZE; i++) {
+            Vet vet = VetResourceIT.createEntity(em).lastName("vet-" + i).addSpeciality(specialty);
+            em.persist(vet);
+            lastId = vet.getId();
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        Page<Vet> page = vetRepository.findAllWithEagerRelationships(PageRequest.of(1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getContent().get(0).getId()).isGreaterThan(page.getContent().get(1).getId()).isLessThan(lastId);
+        assertThat(page.getContent()).allMatch(vet -> Hibernate.isInitialized(vet.getSpecialities()) && vet.getSpecialities().size() == 1);
+        // The ids of the page, the count and the vets of the page with their specialities
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void eagerPageLoadsDoNotScaleWithTheVets() {
+        Specialty specialty = SpecialtyResourceIT.createEntity(em);
+        em.persist(specialty);
+        long[] entityLoadCounts = new long[2];
+        for (int run = 0; run < entityLoadCounts.length; run++) {
+            // Ten times more vets on the second run
+            for (int i = 0; i < (run == 0 ? 10 : 90) * PAGE_SIZE; i++) {
+                em.persist(VetResourceIT.createEntity(em).addSpeciality(specialty));
+            }
+            em.flush();
+            em.clear();
+            specialty = em.find(Specialty.class, specialty.getId());
+            statistics.clear();
+
+            vetRepository.findAllWithEagerRelationships(PageRequest.of(0, PAGE_SIZE));
+
+            entityLoadCounts[run] = statistics.getEntityLoadCount();
+        }
+
+        assertThat(entityLoadCounts[1]).isEqualTo(entityLoadCounts[0]).isLessThanOrEqualTo(PAGE_SIZE + 1);
+    }
+
+    @Test
+    public void vetsDeletedBetweenTheQueriesAreLeftOut() {
+        Vet first = VetResourceIT.createEntity(em).lastName("vet-1");
+        Vet second = VetResourceIT.createEntity(em).lastName("vet-2");
+        em.persist(first);
+        em.persist(second);
+        em.flush();
+        VetRepository repository = mock(VetRepository.class, CALLS_REAL_METHODS);
+        doReturn(new PageImpl<>(Arrays.asList(first.getId(), second.getId()), PageRequest.of(0, PAGE_SIZE), 3))
+            .when(repository).findAllIds(any());
+        // The second vet was deleted after its id was selected
+        doReturn(Collections.singletonList(first)).when(repository).findAllWithEagerRelationshipsByIdIn(any());
+
+        Page<Vet> page = repository.findAllWithEagerRelationships(PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(page.getContent()).containsExactly(first);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+}
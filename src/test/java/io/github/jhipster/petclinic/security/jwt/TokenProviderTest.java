@@ -1,5 +1,6 @@
 package io.github.jhipster.petclinic.security.jwt;
 
+import io.github.jhipster.petclinic.config.ApplicationProperties;
 import io.github.jhipster.petclinic.security.AuthoritiesConstants;
 
 import java.security.Key;
@@ -13,11 +14,14 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -27,10 +31,12 @@ public class TokenProviderTest {
 
     private Key key;
     private TokenProvider tokenProvider;
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     public void setup() {
-        tokenProvider = new TokenProvider( new JHipsterProperties());
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = new TokenProvider(new JHipsterProperties(), new ApplicationProperties(), meterRegistry);
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -83,6 +89,53 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testGetValidAuthenticationIsCached() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> first = tokenProvider.getValidAuthentication(token);
+        Optional<Authentication> second = tokenProvider.getValidAuthentication(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getName()).isEqualTo("anonymous");
+        assertThat(first.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        // Each hit gets its own authentication, built from the cached claims
+        first.get().setAuthenticated(false);
+        assertThat(second.get()).isNotSameAs(first.get());
+        assertThat(second.get().isAuthenticated()).isTrue();
+        assertThat(second.get().getName()).isEqualTo("anonymous");
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetValidAuthenticationOfInvalidTokenIsEmpty() {
+        String token = createTokenWithDifferentSignature();
+
+        assertThat(tokenProvider.getValidAuthentication(token)).isEmpty();
+        assertThat(tokenProvider.getValidAuthentication(token)).isEmpty();
+        assertThat(meterRegistry.get("security.jwt.cache").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGetValidAuthenticationEvictsExpiredToken() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 1000);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        assertThat(tokenProvider.getValidAuthentication(token)).isPresent();
+
+        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64
+            .decode("Xfd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
+        assertThat(tokenProvider.getValidAuthentication(token)).isPresent();
+
+        ((Cache<?, ?>) ReflectionTestUtils.getField(tokenProvider, "authenticationCache")).asMap().values()
+            .forEach(cached -> ReflectionTestUtils.setField(cached, "expiration", System.currentTimeMillis() - 1));
+        assertThat(tokenProvider.getValidAuthentication(token)).isEmpty();
+        assertThat(meterRegistry.get("security.jwt.cache.size").gauge().value()).isEqualTo(0);
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
@@ -1,16 +1,25 @@
 package io.github.jhipster.petclinic.service;
 
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.config.audit.AuditEventConverter;
 import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
+import io.github.jhipster.petclinic.repository.AuditEventPartitionRepository;
 import io.github.jhipster.petclinic.repository.PersistenceAuditEventRepository;
 import io.github.jhipster.petclinic.PetclinicApp;
 import io.github.jhipster.config.JHipsterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +38,21 @@ public class AuditEventServiceIT  {
     @Autowired
     private JHipsterProperties jHipsterProperties;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuditEventConverter auditEventConverter;
+
+    @Autowired
+    private AuditEventPartitionRepository auditEventPartitionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
     private PersistentAuditEvent auditEventOld;
 
     private PersistentAuditEvent auditEventWithinRetention;
@@ -70,4 +94,61 @@ public class AuditEventServiceIT  {
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-retention")).isNotEmpty();
         assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).isNotEmpty();
     }
+
+    @Test
+    @Transactional
+    public void verifyOldAuditEventsAreDeletedByChunks() {
+        persistenceAuditEventRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+            auditEvent.setAuditEventDate(auditEventOld.getAuditEventDate().minus(i, ChronoUnit.HOURS));
+            auditEvent.setPrincipal("test-user-old");
+            auditEvent.setAuditEventType("test-type");
+            auditEvent.setData(Collections.singletonMap("test-key", "test-value"));
+            persistenceAuditEventRepository.save(auditEvent);
+        }
+        auditEventNew.setData(Collections.singletonMap("test-key", "test-value"));
+        persistenceAuditEventRepository.save(auditEventNew);
+        persistenceAuditEventRepository.flush();
+        double purgedBefore = meterRegistry.get("audit.events.purged").counter().count();
+
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getAuditEvents().setPurgeChunkSize(2);
+        new AuditEventService(persistenceAuditEventRepository, auditEventConverter, jHipsterProperties,
+            auditEventPartitionRepository, Optional.empty(), applicationProperties, transactionManager, meterRegistry)
+            .removeOldAuditEvents();
+        em.clear();
+
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-old")).isEmpty();
+        assertThat(persistenceAuditEventRepository.findByPrincipal("test-user-new")).hasSize(1);
+        assertThat(((Number) em.createNativeQuery("select count(*) from jhi_persistent_audit_evt_data").getSingleResult())
+            .longValue()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.events.purged").counter().count() - purgedBefore).isEqualTo(5);
+    }
+
+    @Test
+    @Transactional
+    public void findRecentlyAuthenticatedPrincipals() {
+        persistenceAuditEventRepository.deleteAll();
+        Instant now = Instant.now();
+        persistenceAuditEventRepository.save(createAuthenticationSuccess("test-user-1", now.minus(3, ChronoUnit.HOURS)));
+        persistenceAuditEventRepository.save(createAuthenticationSuccess("test-user-2", now.minus(2, ChronoUnit.HOURS)));
+        persistenceAuditEventRepository.save(createAuthenticationSuccess("test-user-1", now.minus(1, ChronoUnit.HOURS)));
+        persistenceAuditEventRepository.save(createAuthenticationSuccess("test-user-3", now.minus(2, ChronoUnit.DAYS)));
+        persistenceAuditEventRepository.save(auditEventNew);
+        persistenceAuditEventRepository.flush();
+
+        assertThat(auditEventService.findRecentlyAuthenticatedPrincipals(now.minus(1, ChronoUnit.DAYS), 10))
+            .containsExactly("test-user-1", "test-user-2");
+        assertThat(auditEventService.findRecentlyAuthenticatedPrincipals(now.minus(1, ChronoUnit.DAYS), 1))
+            .containsExactly("test-user-1");
+    }
+
+    private PersistentAuditEvent createAuthenticationSuccess(String principal, Instant date) {
+        PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+        auditEvent.setAuditEventDate(date);
+        auditEvent.setPrincipal(principal);
+        auditEvent.setAuditEventType("AUTHENTICATION_SUCCESS");
+        return auditEvent;
+    }
 }
@@ -0,0 +1,135 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.config.ApplicationProperties;
+import io.github.jhipster.petclinic.domain.PersistentAuditEvent;
+import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.AuthorityRepository;
+import io.github.jhipster.petclinic.repository.PersistenceAuditEventRepository;
+import io.github.jhipster.petclinic.repository.SpecialtyRepository;
+import io.github.jhipster.petclinic.repository.UserRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.service.mapper.VetMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ * <p>
+ * The warm-up runs in its own threads and transactions, so the test data is committed and deleted afterwards.
+ * The second-level cache, disabled in the other tests, is enabled to check that the warmed up vets are read from it.
+ */
+@SpringBootTest(classes = PetclinicApp.class, properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+public class CacheWarmUpServiceIT {
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private VetRepository vetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private AuditEventService auditEventService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private VetMapper vetMapper;
+
+    private final List<Vet> vets = new ArrayList<>();
+
+    private Specialty specialty;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        specialty = specialtyRepository.saveAndFlush(new Specialty().name("warm-up"));
+        for (int i = 0; i < 3; i++) {
+            vets.add(vetRepository.saveAndFlush(new Vet().firstName("warm-up").lastName("vet-" + i).addSpeciality(specialty)));
+        }
+        PersistentAuditEvent auditEvent = new PersistentAuditEvent();
+        auditEvent.setAuditEventDate(Instant.now());
+        auditEvent.setPrincipal("user");
+        auditEvent.setAuditEventType("AUTHENTICATION_SUCCESS");
+        persistenceAuditEventRepository.saveAndFlush(auditEvent);
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setChunkSize(2);
+        applicationProperties.getCache().getWarmUp().setRate(1000);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        vetRepository.deleteAll(vets);
+        specialtyRepository.deleteById(specialty.getId());
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void cachesAreWarmedUp() {
+        entityManagerFactory.getCache().evictAll();
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpService(authorityRepository, specialtyRepository,
+            vetRepository, userRepository, auditEventService, transactionManager, applicationProperties, meterRegistry);
+        long vetChunks = (vetRepository.count() + 1) / 2;
+
+        int loaded = cacheWarmUpService.warmUp();
+
+        assertThat(loaded).isEqualTo(1 + specialtyRepository.count() + vetChunks + 1);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("user")).isNotNull();
+        assertThat(meterRegistry.get("cache.warmup").timer().count()).isEqualTo(1);
+
+        // A vet is then read with its specialities without any query, as by VetResource#getVet
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            new TransactionTemplate(transactionManager).execute(status -> vetRepository.findById(vets.get(0).getId())
+                .map(vetMapper::toDto)
+                .orElseThrow(IllegalStateException::new));
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+            assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.repository.projection.AppointmentDTO;
+import io.github.jhipster.petclinic.web.rest.PetResourceIT;
+import io.github.jhipster.petclinic.web.rest.VetResourceIT;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the {@link ScheduleService}, booking the same slots from concurrent threads and instances.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+public class ScheduleServiceIT {
+
+    private static final int THREADS = 8;
+
+    private static final int VETS = 4;
+
+    private static final int DAYS = 5;
+
+    private static final int SLOTS_PER_DAY = 16;
+
+    private static final Duration MAX_P99_LATENCY = Duration.ofSeconds(1);
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VetRepository vetRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Vet> vets = new ArrayList<>();
+
+    private Pet pet;
+
+    @BeforeEach
+    public void init() {
+        for (int i = 0; i < VETS; i++) {
+            vets.add(vetRepository.saveAndFlush(VetResourceIT.createEntity(em)));
+        }
+        pet = petRepository.saveAndFlush(PetResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        Set<Long> vetIds = vets.stream().map(Vet::getId).collect(Collectors.toSet());
+        // Deleted one by one, for the listeners of the schedule index and the vet directory
+        visitRepository.deleteAll(visitRepository.findAll().stream()
+            .filter(visit -> visit.getVet() != null && vetIds.contains(visit.getVet().getId()))
+            .collect(Collectors.toList()));
+        vetRepository.deleteAll(vets);
+        petRepository.deleteById(pet.getId());
+    }
+
+    @Test
+    public void slotBookedByAnotherInstanceIsAlreadyBooked() {
+        LocalDate day = LocalDate.now().plusDays(1);
+        Vet vet = vets.get(0);
+        // Loads the schedule index
+        scheduleService.book(new AppointmentDTO(null, pet.getId(), vet.getId(), day, 1, "stress"));
+        // Written by another instance of the application, without updating the schedule index of this one
+        new TransactionTemplate(transactionManager).execute(status -> jdbcTemplate.update(
+            "insert into visit (id, date, description, pet_id, vet_id, slot, version) values (?, ?, ?, ?, ?, ?, 0)",
+            Integer.MAX_VALUE, day, "other instance", pet.getId(), vet.getId(), 0));
+
+        assertThatThrownBy(() -> scheduleService.book(new AppointmentDTO(null, pet.getId(), vet.getId(), day, 0, "stress")))
+            .isInstanceOf(SlotAlreadyBookedException.class);
+    }
+
+    @Test
+    public void slotsAreBookedOnceByConcurrentThreads() throws Exception {
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<AppointmentDTO> appointments = new ArrayList<>();
+        for (Vet vet : vets) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    appointments.add(new AppointmentDTO(null, pet.getId(), vet.getId(), firstDay.plusDays(day), slot, "stress"));
+                }
+            }
+        }
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Set<Long> bookedIds = ConcurrentHashMap.newKeySet();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> threads = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                // Every thread tries to book every slot, in its own order
+                List<AppointmentDTO> order = new ArrayList<>(appointments);
+                Collections.shuffle(order, new Random(i));
+                threads.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (AppointmentDTO appointment : order) {
+                        long begin = System.nanoTime();
+                        try {
+                            bookedIds.add(scheduleService.book(appointment).getId());
+                            booked.incrementAndGet();
+                        } catch (SlotAlreadyBookedException e) {
+                            conflicts.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Void> thread : threads) {
+                thread.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(booked.get()).isEqualTo(appointments.size());
+        assertThat(conflicts.get()).isEqualTo(appointments.size() * (THREADS - 1));
+        assertThat(bookedIds).hasSize(appointments.size());
+        Set<Long> vetIds = vets.stream().map(Vet::getId).collect(Collectors.toSet());
+        List<Visit> visits = visitRepository.findAll().stream()
+            .filter(visit -> visit.getVet() != null && vetIds.contains(visit.getVet().getId()))
+            .collect(Collectors.toList());
+        assertThat(visits).hasSize(appointments.size());
+        assertThat(visits.stream().map(visit -> visit.getVet().getId() + "/" + visit.getDate() + "/" + visit.getSlot()).distinct())
+            .hasSize(appointments.size());
+        for (Vet vet : vets) {
+            assertThat(scheduleService.findFreeSlots(vet.getId(), firstDay).get()).isEmpty();
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        Duration p99 = Duration.ofNanos(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1));
+        assertThat(p99).isLessThan(MAX_P99_LATENCY);
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.jhipster.petclinic.service;
+
+import io.github.jhipster.petclinic.repository.projection.SpecialtyDTO;
+import io.github.jhipster.petclinic.repository.projection.VetDTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link VetDirectory}.
+ */
+public class VetDirectoryTest {
+
+    private final SpecialtyDTO radiology = new SpecialtyDTO(1L, 0L, "radiology");
+
+    private final SpecialtyDTO surgery = new SpecialtyDTO(2L, 0L, "surgery");
+
+    private final SpecialtyDTO dentistry = new SpecialtyDTO(3L, 0L, "dentistry");
+
+    private VetDirectory directory;
+
+    @BeforeEach
+    public void setup() {
+        VetDTO carter = new VetDTO(3L, 0L, "James", "Carter");
+        VetDTO leary = new VetDTO(1L, 0L, "Helen", "Leary");
+        leary.getSpecialities().add(radiology);
+        VetDTO douglas = new VetDTO(2L, 0L, "Linda", "douglas");
+        douglas.getSpecialities().add(surgery);
+        douglas.getSpecialities().add(radiology);
+        directory = new VetDirectory(7, Arrays.asList(carter, leary, douglas),
+            Arrays.asList(radiology, surgery, dentistry), new ObjectMapper());
+    }
+
+    @Test
+    public void vetsArePagedById() {
+        Page<VetDTO> page = directory.findAll(PageRequest.of(0, 2)).get();
+
+        assertThat(page.getContent()).extracting(VetDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(directory.findAll(PageRequest.of(1, 2)).get().getContent()).extracting(VetDTO::getId).containsExactly(3L);
+        assertThat(directory.findAll(PageRequest.of(5, 2)).get().getContent()).isEmpty();
+    }
+
+    @Test
+    public void vetsAreSorted() {
+        assertThat(directory.findAll(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"))).get().getContent())
+            .extracting(VetDTO::getId).containsExactly(3L, 2L, 1L);
+        assertThat(directory.findAll(PageRequest.of(0, 3, Sort.by("lastName"))).get().getContent())
+            .extracting(VetDTO::getLastName).containsExactly("Carter", "Leary", "douglas");
+        assertThat(directory.findAll(PageRequest.of(0, 3, Sort.by(Sort.Order.asc("lastName").ignoreCase()))).get().getContent())
+            .extracting(VetDTO::getLastName).containsExactly("Carter", "douglas", "Leary");
+        assertThat(directory.findAll(PageRequest.of(0, 3, Sort.by("specialities")))).isEmpty();
+    }
+
+    @Test
+    public void pagesAreSerializedOnce() throws Exception {
+        VetDirectory.SerializedPage page = directory.findAllSerialized(PageRequest.of(0, 2)).get();
+
+        assertThat(new ObjectMapper().readTree(page.getJson()).findValuesAsText("lastName")).containsExactly("Leary", "douglas");
+        assertThat(page.getPage().getTotalElements()).isEqualTo(3);
+        assertThat(directory.findAllSerialized(PageRequest.of(0, 2)).get().getJson()).isSameAs(page.getJson());
+    }
+
+    @Test
+    public void vetsAreIndexedBySpecialty() {
+        assertThat(directory.findAllBySpecialtyId(radiology.getId()).get()).extracting(VetDTO::getId).containsExactly(1L, 2L);
+        assertThat(directory.findAllBySpecialtyId(surgery.getId()).get()).extracting(VetDTO::getId).containsExactly(2L);
+        assertThat(directory.findAllBySpecialtyId(dentistry.getId()).get()).isEqualTo(Collections.emptyList());
+        assertThat(directory.findAllBySpecialtyId(4L)).isEmpty();
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.jhipster.petclinic.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link VetScheduleIndex}.
+ */
+public class VetScheduleIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 1);
+
+    private final VetScheduleIndex index = new VetScheduleIndex(4);
+
+    @Test
+    public void slotsAreBookedOnce() {
+        assertThat(index.book(1L, DAY, 2)).isTrue();
+        assertThat(index.book(1L, DAY, 2)).isFalse();
+        assertThat(index.isBooked(1L, DAY, 2)).isTrue();
+        assertThat(index.isBooked(2L, DAY, 2)).isFalse();
+        assertThat(index.isBooked(1L, DAY.plusDays(1), 2)).isFalse();
+
+        index.release(1L, DAY, 2);
+
+        assertThat(index.isBooked(1L, DAY, 2)).isFalse();
+        assertThat(index.book(1L, DAY, 2)).isTrue();
+    }
+
+    @Test
+    public void firstFreeSlotIsFound() {
+        index.book(1L, DAY, 0);
+        index.book(1L, DAY, 2);
+
+        assertThat(index.findFirstFreeSlot(1L, DAY, 0)).isEqualTo(OptionalInt.of(1));
+        assertThat(index.findFirstFreeSlot(1L, DAY, 2)).isEqualTo(OptionalInt.of(3));
+        assertThat(index.findFirstFreeSlot(1L, DAY, 4)).isEmpty();
+        assertThat(index.findFreeSlots(1L, DAY)).containsExactly(1, 3);
+
+        index.book(1L, DAY, 1);
+        index.book(1L, DAY, 3);
+
+        assertThat(index.findFirstFreeSlot(1L, DAY, 0)).isEmpty();
+        assertThat(index.findFreeSlots(1L, DAY)).isEmpty();
+    }
+
+    @Test
+    public void allTheBitsAreSlots() {
+        VetScheduleIndex fullIndex = new VetScheduleIndex(VetScheduleIndex.MAX_SLOTS_PER_DAY);
+        for (int slot = 0; slot < VetScheduleIndex.MAX_SLOTS_PER_DAY - 1; slot++) {
+            fullIndex.book(1L, DAY, slot);
+        }
+
+        assertThat(fullIndex.findFirstFreeSlot(1L, DAY, 0)).isEqualTo(OptionalInt.of(VetScheduleIndex.MAX_SLOTS_PER_DAY - 1));
+        assertThat(fullIndex.findFreeSlots(1L, DAY)).containsExactly(VetScheduleIndex.MAX_SLOTS_PER_DAY - 1);
+    }
+
+    @Test
+    public void pastDaysAreEvicted() {
+        index.book(1L, DAY, 0);
+        index.book(1L, DAY.plusDays(1), 0);
+
+        index.evictBefore(DAY.plusDays(1));
+
+        assertThat(index.isBooked(1L, DAY, 0)).isFalse();
+        assertThat(index.isBooked(1L, DAY.plusDays(1), 0)).isTrue();
+    }
+
+    @Test
+    public void invalidSlotsAreRejected() {
+        assertThatThrownBy(() -> index.book(1L, DAY, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.book(1L, DAY, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new VetScheduleIndex(VetScheduleIndex.MAX_SLOTS_PER_DAY + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
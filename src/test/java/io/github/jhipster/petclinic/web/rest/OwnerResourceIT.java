@@ -2,22 +2,31 @@ package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.PetclinicApp;
 import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
 import io.github.jhipster.petclinic.repository.OwnerRepository;
+import io.github.jhipster.petclinic.web.rest.util.KeysetPaginationUtil;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -241,6 +250,63 @@ public class OwnerResourceIT {
             .andExpect(jsonPath("$.[*].city").value(hasItem(DEFAULT_CITY)))
             .andExpect(jsonPath("$.[*].telephone").value(hasItem(DEFAULT_TELEPHONE)));
     }
+
+    @Test
+    @Transactional
+    public void searchOwnersByLastName() throws Exception {
+        // Initialize the database
+        ownerRepository.saveAndFlush(owner);
+
+        // Search the owners whose last name starts with a lower-case prefix of DEFAULT_LAST_NAME
+        restOwnerMockMvc.perform(get("/api/owners?lastName={lastName}", DEFAULT_LAST_NAME.substring(0, 3).toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(owner.getId().intValue())))
+            .andExpect(jsonPath("$.[*].lastNameLower").doesNotExist());
+
+        // Search the owners whose last name starts with UPDATED_LAST_NAME
+        restOwnerMockMvc.perform(get("/api/owners?lastName={lastName}", UPDATED_LAST_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(owner.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllOwnersWithKeysetPagination() throws Exception {
+        // Initialize the database
+        ownerRepository.saveAndFlush(owner);
+        Owner otherOwner = createEntity(em);
+        ownerRepository.saveAndFlush(otherOwner);
+        String cursor = KeysetPaginationUtil.encodeCursor(owner.getId() - 1);
+
+        // Get the first keyset page, which points to the next one
+        restOwnerMockMvc.perform(get("/api/owners?after={after}&size=1", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(owner.getId().intValue()))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("after=" + KeysetPaginationUtil.encodeCursor(owner.getId()) + "&size=1>; rel=\"next\"")));
+
+        // Get the last keyset page
+        restOwnerMockMvc.perform(get("/api/owners?after={after}&size=1", KeysetPaginationUtil.encodeCursor(otherOwner.getId())))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0))
+            .andExpect(header().string("Link", not(containsString("rel=\"next\""))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllOwnersWithInvalidCursor() throws Exception {
+        restOwnerMockMvc.perform(get("/api/owners?after=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void searchOwnersByLastNameWithCursor() throws Exception {
+        restOwnerMockMvc.perform(get("/api/owners?lastName={lastName}&after=", DEFAULT_LAST_NAME))
+            .andExpect(status().isBadRequest());
+    }
     
     @Test
     @Transactional
@@ -260,6 +326,74 @@ public class OwnerResourceIT {
             .andExpect(jsonPath("$.telephone").value(DEFAULT_TELEPHONE));
     }
 
+    @Test
+    @Transactional
+    public void getOwnerNotModified() throws Exception {
+        // Initialize the database
+        ownerRepository.saveAndFlush(owner);
+
+        String eTag = restOwnerMockMvc.perform(get("/api/owners/{id}", owner.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + owner.getVersion() + "\""))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Get the owner again, with the version the client already has
+        restOwnerMockMvc.perform(get("/api/owners/{id}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update the owner, which increments its version
+        ownerRepository.saveAndFlush(owner.city(UPDATED_CITY));
+
+        restOwnerMockMvc.perform(get("/api/owners/{id}", owner.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.city").value(UPDATED_CITY));
+    }
+
+    @Test
+    @Transactional
+    public void getOwnerDetails() throws Exception {
+        // Initialize the database
+        ownerRepository.saveAndFlush(owner);
+        for (String name : new String[] {"Rosy", "Basil"}) {
+            Pet pet = PetResourceIT.createEntity(em).name(name).owner(owner);
+            em.persist(pet);
+            em.persist(VisitResourceIT.createEntity(em).date(LocalDate.of(2020, 1, 1)).description(name + " first visit").pet(pet));
+            em.persist(VisitResourceIT.createEntity(em).date(LocalDate.of(2020, 6, 1)).description(name + " second visit").pet(pet));
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            // Get the owner details
+            restOwnerMockMvc.perform(get("/api/owners/{id}/details", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(owner.getId().intValue()))
+                .andExpect(jsonPath("$.lastName").value(DEFAULT_LAST_NAME))
+                .andExpect(jsonPath("$.pets.[*].name").value(contains("Basil", "Rosy")))
+                .andExpect(jsonPath("$.pets.[0].visits.[*].description").value(contains("Basil second visit", "Basil first visit")))
+                .andExpect(jsonPath("$.pets.[1].visits.[*].description").value(contains("Rosy second visit", "Rosy first visit")));
+
+            // Owner, pets and visits are read by a single statement
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    @Transactional
+    public void getNonExistingOwnerDetails() throws Exception {
+        restOwnerMockMvc.perform(get("/api/owners/{id}/details", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void getNonExistingOwner() throws Exception {
@@ -298,11 +432,31 @@ public class OwnerResourceIT {
         Owner testOwner = ownerList.get(ownerList.size() - 1);
         assertThat(testOwner.getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
         assertThat(testOwner.getLastName()).isEqualTo(UPDATED_LAST_NAME);
+        assertThat(testOwner.getLastNameLower()).isEqualTo(UPDATED_LAST_NAME.toLowerCase());
         assertThat(testOwner.getAddress()).isEqualTo(UPDATED_ADDRESS);
         assertThat(testOwner.getCity()).isEqualTo(UPDATED_CITY);
         assertThat(testOwner.getTelephone()).isEqualTo(UPDATED_TELEPHONE);
     }
 
+    @Test
+    @Transactional
+    public void updateOwnerWithStaleVersion() throws Exception {
+        // Initialize the database
+        ownerRepository.saveAndFlush(owner);
+        Owner staleOwner = new Owner().firstName(UPDATED_FIRST_NAME).lastName(UPDATED_LAST_NAME)
+            .address(UPDATED_ADDRESS).city(UPDATED_CITY).telephone(UPDATED_TELEPHONE);
+        staleOwner.setId(owner.getId());
+        staleOwner.setVersion(owner.getVersion());
+
+        // Another client updates the owner first
+        ownerRepository.saveAndFlush(owner.city(UPDATED_CITY));
+
+        restOwnerMockMvc.perform(put("/api/owners")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(staleOwner)))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingOwner() throws Exception {
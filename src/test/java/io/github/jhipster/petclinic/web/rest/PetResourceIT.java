@@ -1,14 +1,18 @@
 package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Owner;
 import io.github.jhipster.petclinic.domain.Pet;
 import io.github.jhipster.petclinic.repository.PetRepository;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,10 +20,12 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +44,7 @@ public class PetResourceIT {
 
     private static final LocalDate DEFAULT_BIRTH_DATE = LocalDate.ofEpochDay(0L);
     private static final LocalDate UPDATED_BIRTH_DATE = LocalDate.now(ZoneId.systemDefault());
+    private static final LocalDate SMALLER_BIRTH_DATE = LocalDate.ofEpochDay(-1L);
 
     private static final PetType DEFAULT_TYPE = PetType.CAT;
     private static final PetType UPDATED_TYPE = PetType.DOG;
@@ -179,6 +186,40 @@ public class PetResourceIT {
         assertThat(petList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    public void savePetsInBatch() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+        int databaseSizeBeforeBatch = petRepository.findAll().size();
+
+        // Update the existing pet, create a new one, send an invalid one and a deleted one
+        em.detach(pet);
+        pet.setName(UPDATED_NAME);
+        Pet invalidPet = createEntity(em);
+        invalidPet.setName(null);
+        Pet deletedPet = createEntity(em);
+        deletedPet.setId(Long.MAX_VALUE);
+        List<Pet> pets = Arrays.asList(pet, createEntity(em), invalidPet, deletedPet);
+
+        restPetMockMvc.perform(post("/api/pets/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(pets)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$.[0].id").value(pet.getId().intValue()))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].id").isNumber())
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].errors.[0]").value(startsWith("name:")))
+            .andExpect(jsonPath("$.[3].status").value("NOT_FOUND"))
+            .andExpect(jsonPath("$.[3].id").value(Long.MAX_VALUE));
+
+        // Validate the Pets in the database
+        assertThat(petRepository.findAll()).hasSize(databaseSizeBeforeBatch + 1);
+        assertThat(petRepository.findById(pet.getId()).get().getName()).isEqualTo(UPDATED_NAME);
+    }
+
     @Test
     @Transactional
     public void getAllPets() throws Exception {
@@ -195,6 +236,36 @@ public class PetResourceIT {
             .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getPetsAsProjections() throws Exception {
+        // Initialize the database
+        Owner owner = OwnerResourceIT.createEntity(em);
+        em.persist(owner);
+        petRepository.saveAndFlush(pet.owner(owner));
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restPetMockMvc.perform(get("/api/pets?ownerId.equals={ownerId}", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(pet.getId().intValue()))
+                .andExpect(jsonPath("$.[0].owner.id").value(owner.getId().intValue()));
+
+            restPetMockMvc.perform(get("/api/pets/{id}", pet.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+                .andExpect(jsonPath("$.owner.id").value(owner.getId().intValue()));
+
+            // Pets are read as DTOs, without hydrating any entity
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     public void getPet() throws Exception {
@@ -211,6 +282,194 @@ public class PetResourceIT {
             .andExpect(jsonPath("$.type").value(DEFAULT_TYPE.toString()));
     }
 
+    @Test
+    @Transactional
+    public void getPetNotModified() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        String eTag = restPetMockMvc.perform(get("/api/pets/{id}", pet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + pet.getVersion() + "\""))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Get the pet again, with the version the client already has
+        restPetMockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Update the pet, which increments its version
+        petRepository.saveAndFlush(pet.name(UPDATED_NAME));
+
+        restPetMockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UPDATED_NAME));
+    }
+
+    @Test
+    @Transactional
+    public void getPetsByIdFiltering() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        Long id = pet.getId();
+
+        defaultPetShouldBeFound("id.equals=" + id);
+        defaultPetShouldNotBeFound("id.notEquals=" + id);
+
+        defaultPetShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultPetShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultPetShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultPetShouldNotBeFound("id.lessThan=" + id);
+    }
+
+
+    @Test
+    @Transactional
+    public void getAllPetsByNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where name equals to DEFAULT_NAME
+        defaultPetShouldBeFound("name.equals=" + DEFAULT_NAME);
+
+        // Get all the petList where name equals to UPDATED_NAME
+        defaultPetShouldNotBeFound("name.equals=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByNameIsInShouldWork() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where name in DEFAULT_NAME or UPDATED_NAME
+        defaultPetShouldBeFound("name.in=" + DEFAULT_NAME + "," + UPDATED_NAME);
+
+        // Get all the petList where name equals to UPDATED_NAME
+        defaultPetShouldNotBeFound("name.in=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByNameContainsSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where name contains DEFAULT_NAME
+        defaultPetShouldBeFound("name.contains=" + DEFAULT_NAME);
+
+        // Get all the petList where name contains UPDATED_NAME
+        defaultPetShouldNotBeFound("name.contains=" + UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByBirthDateIsGreaterThanOrEqualToSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where birthDate is greater than or equal to DEFAULT_BIRTH_DATE
+        defaultPetShouldBeFound("birthDate.greaterThanOrEqual=" + DEFAULT_BIRTH_DATE);
+
+        // Get all the petList where birthDate is greater than or equal to UPDATED_BIRTH_DATE
+        defaultPetShouldNotBeFound("birthDate.greaterThanOrEqual=" + UPDATED_BIRTH_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByBirthDateIsLessThanSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where birthDate is less than DEFAULT_BIRTH_DATE
+        defaultPetShouldNotBeFound("birthDate.lessThan=" + DEFAULT_BIRTH_DATE);
+
+        // Get all the petList where birthDate is less than UPDATED_BIRTH_DATE
+        defaultPetShouldBeFound("birthDate.lessThan=" + UPDATED_BIRTH_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByBirthDateIsGreaterThanSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where birthDate is greater than DEFAULT_BIRTH_DATE
+        defaultPetShouldNotBeFound("birthDate.greaterThan=" + DEFAULT_BIRTH_DATE);
+
+        // Get all the petList where birthDate is greater than SMALLER_BIRTH_DATE
+        defaultPetShouldBeFound("birthDate.greaterThan=" + SMALLER_BIRTH_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByTypeIsEqualToSomething() throws Exception {
+        // Initialize the database
+        petRepository.saveAndFlush(pet);
+
+        // Get all the petList where type equals to DEFAULT_TYPE
+        defaultPetShouldBeFound("type.equals=" + DEFAULT_TYPE);
+
+        // Get all the petList where type equals to UPDATED_TYPE
+        defaultPetShouldNotBeFound("type.equals=" + UPDATED_TYPE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllPetsByOwnerIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Owner owner = OwnerResourceIT.createEntity(em);
+        em.persist(owner);
+        em.flush();
+        pet.setOwner(owner);
+        petRepository.saveAndFlush(pet);
+        Long ownerId = owner.getId();
+
+        // Get all the petList where owner equals to ownerId
+        defaultPetShouldBeFound("ownerId.equals=" + ownerId);
+
+        // Get all the petList where owner equals to ownerId + 1
+        defaultPetShouldNotBeFound("ownerId.equals=" + (ownerId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultPetShouldBeFound(String filter) throws Exception {
+        restPetMockMvc.perform(get("/api/pets?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(pet.getId().intValue())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
+            .andExpect(jsonPath("$.[*].birthDate").value(hasItem(DEFAULT_BIRTH_DATE.toString())))
+            .andExpect(jsonPath("$.[*].type").value(hasItem(DEFAULT_TYPE.toString())));
+
+        // Check, that the count call also returns 1
+        restPetMockMvc.perform(get("/api/pets/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultPetShouldNotBeFound(String filter) throws Exception {
+        restPetMockMvc.perform(get("/api/pets?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restPetMockMvc.perform(get("/api/pets/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     public void getNonExistingPet() throws Exception {
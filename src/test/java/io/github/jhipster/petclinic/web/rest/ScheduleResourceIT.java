@@ -0,0 +1,271 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Specialty;
+import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.SpecialtyRepository;
+import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.repository.projection.AppointmentDTO;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link ScheduleResource} REST controller.
+ * <p>
+ * The vet directory and the schedule index read the committed data, so the tests commit their vet, and delete it.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class ScheduleResourceIT {
+
+    private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
+
+    private static final int DEFAULT_SLOT = 3;
+
+    private static final String DEFAULT_DESCRIPTION = "AAAAAAAAAA";
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VetRepository vetRepository;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restScheduleMockMvc;
+
+    private Specialty specialty;
+
+    private Vet vet;
+
+    private Pet pet;
+
+    @BeforeEach
+    public void initTest() {
+        specialty = specialtyRepository.saveAndFlush(SpecialtyResourceIT.createEntity(em));
+        vet = vetRepository.saveAndFlush(VetResourceIT.createEntity(em).addSpeciality(specialty));
+        pet = petRepository.saveAndFlush(PetResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        List<Visit> visits = visitRepository.findAll();
+        visits.stream()
+            .filter(visit -> visit.getVet() != null && vet.getId().equals(visit.getVet().getId()))
+            .forEach(visitRepository::delete);
+        vetRepository.deleteById(vet.getId());
+        specialtyRepository.deleteById(specialty.getId());
+        petRepository.deleteById(pet.getId());
+    }
+
+    @Test
+    public void createAppointment() throws Exception {
+        AppointmentDTO appointment = new AppointmentDTO(null, pet.getId(), vet.getId(), TOMORROW, DEFAULT_SLOT, DEFAULT_DESCRIPTION);
+
+        byte[] response = restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.slot").value(DEFAULT_SLOT))
+            .andExpect(jsonPath("$.start").exists())
+            .andReturn().getResponse().getContentAsByteArray();
+        JsonNode created = objectMapper.readTree(response);
+
+        // Validate the Visit in the database
+        Visit visit = visitRepository.findById(created.get("id").asLong()).get();
+        assertThat(visit.getDate()).isEqualTo(TOMORROW);
+        assertThat(visit.getSlot()).isEqualTo(DEFAULT_SLOT);
+        assertThat(visit.getVet().getId()).isEqualTo(vet.getId());
+
+        // The slot is booked
+        restScheduleMockMvc.perform(get("/api/schedule/vets/{vetId}/free-slots?date={date}", vet.getId(), TOMORROW))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].slot").value(not(hasItem(DEFAULT_SLOT))))
+            .andExpect(jsonPath("$.[*].slot").value(hasItem(DEFAULT_SLOT + 1)));
+        restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.slotbooked"));
+
+        // Cancel the visit, which frees the slot
+        restScheduleMockMvc.perform(delete("/api/visits/{id}", visit.getId()))
+            .andExpect(status().isNoContent());
+
+        restScheduleMockMvc.perform(get("/api/schedule/vets/{vetId}/free-slots?date={date}", vet.getId(), TOMORROW))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].slot").value(hasItem(DEFAULT_SLOT)));
+    }
+
+    @Test
+    public void createVisitInBookedSlot() throws Exception {
+        Visit visit = VisitResourceIT.createEntity(em).date(TOMORROW).pet(pet).vet(vet).slot(DEFAULT_SLOT);
+
+        restScheduleMockMvc.perform(post("/api/visits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(visit)))
+            .andExpect(status().isCreated());
+        restScheduleMockMvc.perform(post("/api/visits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(visit)))
+            .andExpect(status().isConflict());
+
+        assertThat(visitRepository.findAll()).filteredOn(booked -> booked.getVet() != null && vet.getId().equals(booked.getVet().getId()))
+            .hasSize(1);
+    }
+
+    @Test
+    public void saveVisitsInBookedSlotsInBatch() throws Exception {
+        Visit visit = VisitResourceIT.createEntity(em).date(TOMORROW).pet(pet).vet(vet).slot(DEFAULT_SLOT);
+        Visit invalidVisit = VisitResourceIT.createEntity(em).date(TOMORROW).pet(pet).vet(vet).slot(1000);
+        List<Visit> visits = Arrays.asList(visit, visit, invalidVisit);
+
+        restScheduleMockMvc.perform(post("/api/visits/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(visits)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].status").value("CONFLICT"))
+            .andExpect(jsonPath("$.[1].errors.[0]").value("slot: already booked"))
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].errors.[0]").value("slot: invalid"));
+
+        // The slot is booked once, in the database and in the index
+        assertThat(visitRepository.findAll()).filteredOn(booked -> booked.getVet() != null && vet.getId().equals(booked.getVet().getId()))
+            .hasSize(1);
+        restScheduleMockMvc.perform(get("/api/schedule/vets/{vetId}/free-slots?date={date}", vet.getId(), TOMORROW))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].slot").value(not(hasItem(DEFAULT_SLOT))));
+    }
+
+    @Test
+    public void updateDescriptionOfBookedVisit() throws Exception {
+        AppointmentDTO appointment = new AppointmentDTO(null, pet.getId(), vet.getId(), TOMORROW, DEFAULT_SLOT, DEFAULT_DESCRIPTION);
+        JsonNode created = objectMapper.readTree(restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsByteArray());
+        Long id = created.get("id").asLong();
+
+        // Get the visit, and put it back with another description only
+        ObjectNode read = (ObjectNode) objectMapper.readTree(restScheduleMockMvc.perform(get("/api/visits/{id}", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vet.id").value(vet.getId().intValue()))
+            .andExpect(jsonPath("$.slot").value(DEFAULT_SLOT))
+            .andReturn().getResponse().getContentAsByteArray());
+        read.put("description", "BBBBBBBBBB");
+
+        restScheduleMockMvc.perform(put("/api/visits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsBytes(read)))
+            .andExpect(status().isOk());
+
+        // The visit is still booked
+        Visit visit = visitRepository.findById(id).get();
+        assertThat(visit.getDescription()).isEqualTo("BBBBBBBBBB");
+        assertThat(visit.getSlot()).isEqualTo(DEFAULT_SLOT);
+        assertThat(visit.getVet().getId()).isEqualTo(vet.getId());
+        restScheduleMockMvc.perform(get("/api/schedule/vets/{vetId}/free-slots?date={date}", vet.getId(), TOMORROW))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].slot").value(not(hasItem(DEFAULT_SLOT))));
+    }
+
+    @Test
+    public void getFirstFreeSlot() throws Exception {
+        for (int slot = 0; slot < 2; slot++) {
+            restScheduleMockMvc.perform(post("/api/schedule/appointments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(
+                    new AppointmentDTO(null, pet.getId(), vet.getId(), TOMORROW, slot, DEFAULT_DESCRIPTION))))
+                .andExpect(status().isCreated());
+        }
+
+        restScheduleMockMvc.perform(get("/api/schedule/first-free-slot?specialtyId={specialtyId}&from={from}", specialty.getId(), TOMORROW))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.vetId").value(vet.getId().intValue()))
+            .andExpect(jsonPath("$.date").value(TOMORROW.toString()))
+            .andExpect(jsonPath("$.slot").value(2));
+    }
+
+    @Test
+    @Transactional
+    public void createAppointmentWithInvalidSlot() throws Exception {
+        AppointmentDTO appointment = new AppointmentDTO(null, pet.getId(), vet.getId(), TOMORROW, 1000, DEFAULT_DESCRIPTION);
+
+        restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-petclinicApp-error", "error.slotinvalid"));
+
+        appointment.setSlot(0);
+        appointment.setDate(LocalDate.now().minusDays(1));
+
+        restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-petclinicApp-error", "error.slotinvalid"));
+    }
+
+    @Test
+    @Transactional
+    public void createAppointmentWithNonExistingVet() throws Exception {
+        AppointmentDTO appointment = new AppointmentDTO(null, pet.getId(), Long.MAX_VALUE, TOMORROW, DEFAULT_SLOT, DEFAULT_DESCRIPTION);
+
+        restScheduleMockMvc.perform(post("/api/schedule/appointments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(appointment)))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().string("X-petclinicApp-error", "error.vetnotfound"));
+    }
+
+    @Test
+    @Transactional
+    public void getFreeSlotsOfNonExistingVet() throws Exception {
+        restScheduleMockMvc.perform(get("/api/schedule/vets/{vetId}/free-slots?date={date}", Long.MAX_VALUE, TOMORROW))
+            .andExpect(status().isNotFound());
+        restScheduleMockMvc.perform(get("/api/schedule/first-free-slot?specialtyId={specialtyId}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+}
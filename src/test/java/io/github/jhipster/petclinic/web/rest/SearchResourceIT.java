@@ -0,0 +1,181 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+import io.github.jhipster.petclinic.repository.OwnerRepository;
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.service.SearchService;
+
+import org.hibernate.search.jpa.Search;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link SearchResource} REST controller.
+ * <p>
+ * The index is only updated when a transaction commits, so these tests are not transactional
+ * and remove their own data.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class SearchResourceIT {
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc restSearchMockMvc;
+
+    private Owner owner;
+
+    private Pet pet;
+
+    private Visit visit;
+
+    @BeforeEach
+    public void initTest() {
+        owner = ownerRepository.saveAndFlush(new Owner()
+            .firstName("Zebulon")
+            .lastName("Franklin")
+            .address("110 W. Liberty St.")
+            .city("Madison")
+            .telephone("6085551023"));
+        pet = petRepository.saveAndFlush(new Pet()
+            .name("Leopold")
+            .birthDate(LocalDate.of(2018, 9, 7))
+            .type(PetType.LIZARD)
+            .owner(owner));
+        visit = visitRepository.saveAndFlush(new Visit()
+            .date(LocalDate.of(2026, 10, 1))
+            .description("Limping on the left hind leg")
+            .pet(pet));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        visitRepository.findById(visit.getId()).ifPresent(visitRepository::delete);
+        petRepository.findById(pet.getId()).ifPresent(petRepository::delete);
+        ownerRepository.findById(owner.getId()).ifPresent(ownerRepository::delete);
+    }
+
+    @Test
+    public void searchOwnersByNamePrefix() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/owners?query=frank"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(owner.getId().intValue())));
+
+        restSearchMockMvc.perform(get("/api/_search/owners?query=zeb madison"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(owner.getId().intValue())));
+
+        restSearchMockMvc.perform(get("/api/_search/owners?query=franklin portland"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(owner.getId().intValue()))));
+    }
+
+    @Test
+    public void searchOwnersByTelephoneFragment() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/owners?query=5551"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(owner.getId().intValue())));
+
+        restSearchMockMvc.perform(get("/api/_search/owners?query=5552"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(owner.getId().intValue()))));
+    }
+
+    @Test
+    public void searchPets() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/pets?query=leo lizard"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(pet.getId().intValue())));
+    }
+
+    @Test
+    public void searchVisitsByStemmedDescription() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/visits?query=limp"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(visit.getId().intValue())));
+    }
+
+    @Test
+    public void searchWithEmptyQuery() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/owners?query= "))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+    }
+
+    @Test
+    public void deletedOwnerIsRemovedFromIndex() throws Exception {
+        visitRepository.deleteById(visit.getId());
+        petRepository.deleteById(pet.getId());
+        ownerRepository.deleteById(owner.getId());
+
+        restSearchMockMvc.perform(get("/api/_search/owners?query=franklin"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(owner.getId().intValue()))));
+    }
+
+    @Test
+    public void reindexRestoresExistingRows() throws Exception {
+        new TransactionTemplate(transactionManager).execute(status -> {
+            Search.getFullTextEntityManager(em).purgeAll(Owner.class);
+            return null;
+        });
+        restSearchMockMvc.perform(get("/api/_search/owners?query=franklin"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(owner.getId().intValue()))));
+
+        searchService.reindex().get(1, TimeUnit.MINUTES);
+
+        restSearchMockMvc.perform(get("/api/_search/owners?query=franklin"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(owner.getId().intValue())));
+    }
+
+    @Test
+    public void reindexIsForbiddenForUsers() throws Exception {
+        restSearchMockMvc.perform(post("/api/_search/reindex"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,193 @@
+package io.github.jhipster.petclinic.web.rest;
+
+import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Owner;
+import io.github.jhipster.petclinic.domain.Pet;
+import io.github.jhipster.petclinic.domain.Visit;
+import io.github.jhipster.petclinic.domain.enumeration.PetType;
+import io.github.jhipster.petclinic.repository.OwnerRepository;
+import io.github.jhipster.petclinic.repository.PetRepository;
+import io.github.jhipster.petclinic.repository.VisitRepository;
+import io.github.jhipster.petclinic.service.VisitStatisticsService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link StatisticsResource} REST controller.
+ * <p>
+ * The statistics are updated when the visits are committed, so the tests commit their visits, and delete them.
+ */
+@SpringBootTest(classes = PetclinicApp.class)
+@AutoConfigureMockMvc
+@WithMockUser
+public class StatisticsResourceIT {
+
+    private static final LocalDate JANUARY_DATE = LocalDate.of(2001, 1, 10);
+    private static final LocalDate FEBRUARY_DATE = LocalDate.of(2001, 2, 5);
+    private static final LocalDate MARCH_DATE = LocalDate.of(2001, 3, 1);
+
+    private static final String YEAR_VISITS_URL = "/api/stats/pet-types/visits?from=2001-01&to=2001-12";
+
+    @Autowired
+    private OwnerRepository ownerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private VisitRepository visitRepository;
+
+    @Autowired
+    private VisitStatisticsService visitStatisticsService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restStatisticsMockMvc;
+
+    private final List<Visit> visits = new ArrayList<>();
+
+    private Owner owner;
+
+    private Pet dog;
+
+    private Pet cat;
+
+    @BeforeEach
+    public void initTest() {
+        owner = ownerRepository.saveAndFlush(OwnerResourceIT.createEntity(em));
+        dog = petRepository.saveAndFlush(PetResourceIT.createEntity(em).type(PetType.DOG).owner(owner));
+        cat = petRepository.saveAndFlush(PetResourceIT.createEntity(em).type(PetType.CAT).owner(owner));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        visits.stream().map(Visit::getId).filter(visitRepository::existsById).forEach(visitRepository::deleteById);
+        petRepository.deleteById(dog.getId());
+        petRepository.deleteById(cat.getId());
+        ownerRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    public void getStatistics() throws Exception {
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", dog.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.visits").value(0))
+            .andExpect(jsonPath("$.lastVisitDate").value(nullValue()));
+
+        // Initialize the database
+        addVisit(dog, JANUARY_DATE);
+        addVisit(dog, JANUARY_DATE.plusDays(10));
+        Visit februaryVisit = addVisit(dog, FEBRUARY_DATE);
+        addVisit(cat, JANUARY_DATE);
+
+        restStatisticsMockMvc.perform(get(YEAR_VISITS_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].petType").value(contains("CAT", "DOG", "DOG")))
+            .andExpect(jsonPath("$.[*].month").value(contains("2001-01", "2001-01", "2001-02")))
+            .andExpect(jsonPath("$.[*].visits").value(contains(1, 2, 1)));
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", dog.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits").value(3))
+            .andExpect(jsonPath("$.lastVisitDate").value(FEBRUARY_DATE.toString()));
+        restStatisticsMockMvc.perform(get("/api/stats/owners/{id}", owner.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits").value(4))
+            .andExpect(jsonPath("$.lastVisitDate").value(FEBRUARY_DATE.toString()));
+
+        // Move the last visit of the dog to another month
+        visitRepository.saveAndFlush(visitRepository.findById(februaryVisit.getId()).get().date(MARCH_DATE));
+
+        restStatisticsMockMvc.perform(get(YEAR_VISITS_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].month").value(contains("2001-01", "2001-01", "2001-03")))
+            .andExpect(jsonPath("$.[*].visits").value(contains(1, 2, 1)));
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", dog.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits").value(3))
+            .andExpect(jsonPath("$.lastVisitDate").value(MARCH_DATE.toString()));
+
+        // Delete it
+        visitRepository.deleteById(februaryVisit.getId());
+
+        restStatisticsMockMvc.perform(get(YEAR_VISITS_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].month").value(contains("2001-01", "2001-01")));
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", dog.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits").value(2))
+            .andExpect(jsonPath("$.lastVisitDate").value(JANUARY_DATE.plusDays(10).toString()));
+    }
+
+    @Test
+    public void getStatisticsOfChangedPetType() throws Exception {
+        // Initialize the database
+        addVisit(dog, JANUARY_DATE);
+        addVisit(cat, JANUARY_DATE);
+        addVisit(cat, FEBRUARY_DATE);
+
+        // The cat was a dog
+        cat = petRepository.saveAndFlush(petRepository.findById(cat.getId()).get().type(PetType.DOG));
+
+        restStatisticsMockMvc.perform(get(YEAR_VISITS_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].petType").value(contains("DOG", "DOG")))
+            .andExpect(jsonPath("$.[*].month").value(contains("2001-01", "2001-02")))
+            .andExpect(jsonPath("$.[*].visits").value(contains(2, 1)));
+
+        // The statistics computed from all the visits are the same
+        visitStatisticsService.rebuild();
+
+        restStatisticsMockMvc.perform(get(YEAR_VISITS_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].petType").value(contains("DOG", "DOG")))
+            .andExpect(jsonPath("$.[*].visits").value(contains(2, 1)));
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", cat.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.visits").value(2))
+            .andExpect(jsonPath("$.lastVisitDate").value(FEBRUARY_DATE.toString()));
+    }
+
+    @Test
+    @Transactional
+    public void getStatisticsOfNonExistingPetOrOwner() throws Exception {
+        restStatisticsMockMvc.perform(get("/api/stats/pets/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+        restStatisticsMockMvc.perform(get("/api/stats/owners/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    public void getPetTypeVisitsWithInvalidMonths() throws Exception {
+        restStatisticsMockMvc.perform(get("/api/stats/pet-types/visits?from=2001-12&to=2001-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Visit addVisit(Pet pet, LocalDate date) {
+        Visit visit = visitRepository.saveAndFlush(VisitResourceIT.createEntity(em).date(date).pet(pet));
+        visits.add(visit);
+        return visit;
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Specialty;
 import io.github.jhipster.petclinic.domain.Vet;
+import io.github.jhipster.petclinic.repository.SpecialtyRepository;
 import io.github.jhipster.petclinic.repository.VetRepository;
+import io.github.jhipster.petclinic.service.VetDirectoryService;
+import io.github.jhipster.petclinic.service.mapper.VetMapper;
+import io.github.jhipster.petclinic.web.rest.util.KeysetPaginationUtil;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,7 +29,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +58,15 @@ public class VetResourceIT {
     @Mock
     private VetRepository vetRepositoryMock;
 
+    @Autowired
+    private VetMapper vetMapper;
+
+    @Autowired
+    private SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    private VetDirectoryService vetDirectoryService;
+
     @Autowired
     private EntityManager em;
 
@@ -176,10 +194,69 @@ public class VetResourceIT {
             .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
             .andExpect(jsonPath("$.[*].lastName").value(hasItem(DEFAULT_LAST_NAME)));
     }
+
+    @Test
+    @Transactional
+    public void getAllVetsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        vetRepository.saveAndFlush(vet);
+        vetRepository.saveAndFlush(createEntity(em));
+
+        // Get the first keyset page with eager relationships, which points to the next one
+        restVetMockMvc.perform(get("/api/vets?after={after}&size=1&eagerload=true", KeysetPaginationUtil.encodeCursor(vet.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(vet.getId().intValue()))
+            .andExpect(jsonPath("$.[0].specialities").isArray())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", containsString("after=" + KeysetPaginationUtil.encodeCursor(vet.getId()))));
+    }
     
+    @Test
+    public void getAllVetsFromDirectory() throws Exception {
+        // Initialize the database, the directory reading only the committed vets
+        Specialty specialty = specialtyRepository.saveAndFlush(SpecialtyResourceIT.createEntity(em));
+        vet = vetRepository.saveAndFlush(vet.addSpeciality(specialty));
+        try {
+            restVetMockMvc.perform(get("/api/vets?eagerload=true&sort=lastName,desc&size=1000"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header().exists("X-Total-Count"))
+                .andExpect(jsonPath("$.[*].id").value(hasItem(vet.getId().intValue())))
+                .andExpect(jsonPath("$.[?(@.id == %d)].specialities.[*].id", vet.getId()).value(hasItem(specialty.getId().intValue())));
+            restVetMockMvc.perform(get("/api/specialties/{id}/vets", specialty.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].lastName").value(contains(DEFAULT_LAST_NAME)));
+
+            // Update the vet, which rebuilds the directory
+            vet = vetRepository.saveAndFlush(vet.lastName(UPDATED_LAST_NAME));
+
+            restVetMockMvc.perform(get("/api/specialties/{id}/vets", specialty.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].lastName").value(contains(UPDATED_LAST_NAME)));
+        } finally {
+            vetRepository.deleteById(vet.getId());
+            specialtyRepository.deleteById(specialty.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void getAllVetsFromDirectoryWithUnsupportedSort() throws Exception {
+        restVetMockMvc.perform(get("/api/vets?eagerload=true&sort=specialities,asc"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getVetsOfNonExistingSpecialty() throws Exception {
+        restVetMockMvc.perform(get("/api/specialties/{id}/vets", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @SuppressWarnings({"unchecked"})
     public void getAllVetsWithEagerRelationshipsIsEnabled() throws Exception {
-        VetResource vetResource = new VetResource(vetRepositoryMock);
+        VetResource vetResource = new VetResource(vetRepositoryMock, vetMapper, vetDirectoryService);
         when(vetRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restVetMockMvc.perform(get("/api/vets?eagerload=true"))
@@ -190,7 +267,7 @@ public class VetResourceIT {
 
     @SuppressWarnings({"unchecked"})
     public void getAllVetsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        VetResource vetResource = new VetResource(vetRepositoryMock);
+        VetResource vetResource = new VetResource(vetRepositoryMock, vetMapper, vetDirectoryService);
         when(vetRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         restVetMockMvc.perform(get("/api/vets?eagerload=true"))
@@ -214,6 +291,33 @@ public class VetResourceIT {
             .andExpect(jsonPath("$.lastName").value(DEFAULT_LAST_NAME));
     }
 
+    @Test
+    @Transactional
+    public void getVetNotModified() throws Exception {
+        // Initialize the database
+        Specialty specialty = SpecialtyResourceIT.createEntity(em);
+        em.persist(specialty);
+        vetRepository.saveAndFlush(vet.addSpeciality(specialty));
+
+        String eTag = restVetMockMvc.perform(get("/api/vets/{id}", vet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Get the vet again, with the version the client already has
+        restVetMockMvc.perform(get("/api/vets/{id}", vet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Rename its specialty, which doesn't increment the version of the vet but changes its representation
+        specialty.setName("renamed");
+        em.flush();
+
+        restVetMockMvc.perform(get("/api/vets/{id}", vet.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.specialities.[*].name").value(hasItem("renamed")));
+    }
+
     @Test
     @Transactional
     public void getNonExistingVet() throws Exception {
@@ -1,6 +1,7 @@
 package io.github.jhipster.petclinic.web.rest;
 
 import io.github.jhipster.petclinic.PetclinicApp;
+import io.github.jhipster.petclinic.domain.Pet;
 import io.github.jhipster.petclinic.domain.Visit;
 import io.github.jhipster.petclinic.repository.VisitRepository;
 
@@ -16,10 +17,13 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -117,6 +121,25 @@ public class VisitResourceIT {
         assertThat(visitList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    public void createUnscheduledVisitWithUnknownPet() throws Exception {
+        long databaseSizeBeforeCreate = visitRepository.count();
+
+        // A visit without a slot isn't validated, the unknown pet is only rejected by the database
+        Pet pet = new Pet();
+        pet.setId(Long.MAX_VALUE);
+        visit.setPet(pet);
+
+        // The violated foreign key isn't an already booked slot
+        restVisitMockMvc.perform(post("/api/visits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(visit)))
+            .andExpect(status().isInternalServerError());
+
+        // Validate the Visit in the database
+        assertThat(visitRepository.count()).isEqualTo(databaseSizeBeforeCreate);
+    }
+
 
     @Test
     @Transactional
@@ -154,6 +177,36 @@ public class VisitResourceIT {
         assertThat(visitList).hasSize(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    public void saveVisitsInBatch() throws Exception {
+        // Initialize the database
+        visitRepository.saveAndFlush(visit);
+        int databaseSizeBeforeBatch = visitRepository.findAll().size();
+
+        // Update the existing visit, create a new one and send an invalid one
+        em.detach(visit);
+        visit.setDescription(UPDATED_DESCRIPTION);
+        Visit invalidVisit = createEntity(em);
+        invalidVisit.setDescription(null);
+        List<Visit> visits = Arrays.asList(visit, createEntity(em), invalidVisit);
+
+        restVisitMockMvc.perform(post("/api/visits/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(visits)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$.[0].id").value(visit.getId().intValue()))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"))
+            .andExpect(jsonPath("$.[1].id").isNumber())
+            .andExpect(jsonPath("$.[2].status").value("INVALID"))
+            .andExpect(jsonPath("$.[2].errors.[0]").value(startsWith("description:")));
+
+        // Validate the Visits in the database
+        assertThat(visitRepository.findAll()).hasSize(databaseSizeBeforeBatch + 1);
+        assertThat(visitRepository.findById(visit.getId()).get().getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+    }
+
     @Test
     @Transactional
     public void getAllVisits() throws Exception {
@@ -169,6 +222,20 @@ public class VisitResourceIT {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION)));
     }
     
+    @Test
+    @Transactional
+    public void streamAllVisits() throws Exception {
+        // Initialize the database
+        visitRepository.saveAndFlush(visit);
+
+        // Stream all the visits
+        restVisitMockMvc.perform(get("/api/visits/stream"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(containsString("\"id\":" + visit.getId() + ",")))
+            .andExpect(content().string(containsString("\"description\":\"" + DEFAULT_DESCRIPTION + "\"")));
+    }
+
     @Test
     @Transactional
     public void getVisit() throws Exception {
@@ -221,6 +288,24 @@ public class VisitResourceIT {
         assertThat(testVisit.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
     }
 
+    @Test
+    @Transactional
+    public void updateVisitWithStaleVersion() throws Exception {
+        // Initialize the database
+        visitRepository.saveAndFlush(visit);
+        Visit staleVisit = new Visit().date(UPDATED_DATE).description(UPDATED_DESCRIPTION);
+        staleVisit.setId(visit.getId());
+        staleVisit.setVersion(visit.getVersion());
+
+        // Another client updates the visit first
+        visitRepository.saveAndFlush(visit.description(UPDATED_DESCRIPTION));
+
+        restVisitMockMvc.perform(put("/api/visits")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(TestUtil.convertObjectToJsonBytes(staleVisit)))
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingVisit() throws Exception {
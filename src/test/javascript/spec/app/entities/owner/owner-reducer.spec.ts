@@ -12,11 +12,13 @@ import reducer, {
   deleteEntity,
   getEntities,
   getEntity,
+  getEntityDetails,
   updateEntity,
   reset
 } from 'app/entities/owner/owner.reducer';
 import { REQUEST, SUCCESS, FAILURE } from 'app/shared/reducers/action-type.util';
 import { IOwner, defaultValue } from 'app/shared/model/owner.model';
+import { defaultValue as defaultDetailsValue } from 'app/shared/model/owner-details.model';
 
 describe('Entities reducer tests', () => {
   function isEmpty(element): boolean {
@@ -32,6 +34,7 @@ describe('Entities reducer tests', () => {
     errorMessage: null,
     entities: [] as ReadonlyArray<IOwner>,
     entity: defaultValue,
+    details: defaultDetailsValue,
     links: {
       next: 0
     },
@@ -65,13 +68,17 @@ describe('Entities reducer tests', () => {
 
   describe('Requests', () => {
     it('should set state to loading', () => {
-      testMultipleTypes([REQUEST(ACTION_TYPES.FETCH_OWNER_LIST), REQUEST(ACTION_TYPES.FETCH_OWNER)], {}, state => {
-        expect(state).toMatchObject({
-          errorMessage: null,
-          updateSuccess: false,
-          loading: true
-        });
-      });
+      testMultipleTypes(
+        [REQUEST(ACTION_TYPES.FETCH_OWNER_LIST), REQUEST(ACTION_TYPES.FETCH_OWNER), REQUEST(ACTION_TYPES.FETCH_OWNER_DETAILS)],
+        {},
+        state => {
+          expect(state).toMatchObject({
+            errorMessage: null,
+            updateSuccess: false,
+            loading: true
+          });
+        }
+      );
     });
 
     it('should set state to updating', () => {
@@ -108,6 +115,7 @@ describe('Entities reducer tests', () => {
         [
           FAILURE(ACTION_TYPES.FETCH_OWNER_LIST),
           FAILURE(ACTION_TYPES.FETCH_OWNER),
+          FAILURE(ACTION_TYPES.FETCH_OWNER_DETAILS),
           FAILURE(ACTION_TYPES.CREATE_OWNER),
           FAILURE(ACTION_TYPES.UPDATE_OWNER),
           FAILURE(ACTION_TYPES.DELETE_OWNER)
@@ -156,6 +164,20 @@ describe('Entities reducer tests', () => {
       });
     });
 
+    it('should fetch the details of an entity', () => {
+      const payload = { data: { id: 1, pets: [{ id: 2, visits: [] }] } };
+      expect(
+        reducer(undefined, {
+          type: SUCCESS(ACTION_TYPES.FETCH_OWNER_DETAILS),
+          payload
+        })
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        details: payload.data
+      });
+    });
+
     it('should create/update entity', () => {
       const payload = { data: 'fake payload' };
       expect(
@@ -223,6 +245,19 @@ describe('Entities reducer tests', () => {
       await store.dispatch(getEntity(42666)).then(() => expect(store.getActions()).toEqual(expectedActions));
     });
 
+    it('dispatches ACTION_TYPES.FETCH_OWNER_DETAILS actions', async () => {
+      const expectedActions = [
+        {
+          type: REQUEST(ACTION_TYPES.FETCH_OWNER_DETAILS)
+        },
+        {
+          type: SUCCESS(ACTION_TYPES.FETCH_OWNER_DETAILS),
+          payload: resolvedObject
+        }
+      ];
+      await store.dispatch(getEntityDetails(42666)).then(() => expect(store.getActions()).toEqual(expectedActions));
+    });
+
     it('dispatches ACTION_TYPES.CREATE_OWNER actions', async () => {
       const expectedActions = [
         {
@@ -4,6 +4,7 @@ import configureStore from 'redux-mock-store';
 import promiseMiddleware from 'redux-promise-middleware';
 import thunk from 'redux-thunk';
 import sinon from 'sinon';
+import { parseHeaderForLinks } from 'react-jhipster';
 
 import reducer, {
   ACTION_TYPES,
@@ -11,6 +12,7 @@ import reducer, {
   deleteEntity,
   getEntities,
   getEntity,
+  searchEntities,
   updateEntity,
   reset
 } from 'app/entities/pet/pet.reducer';
@@ -30,7 +32,12 @@ describe('Entities reducer tests', () => {
     loading: false,
     errorMessage: null,
     entities: [] as ReadonlyArray<IPet>,
+    searchResults: [] as ReadonlyArray<IPet>,
     entity: defaultValue,
+    links: {
+      next: 0
+    },
+    totalItems: 0,
     updating: false,
     updateSuccess: false
   };
@@ -121,7 +128,8 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { 'x-total-count': 123, link: ';' } };
+      const links = parseHeaderForLinks(payload.headers.link);
       expect(
         reducer(undefined, {
           type: SUCCESS(ACTION_TYPES.FETCH_PET_LIST),
@@ -129,11 +137,27 @@ describe('Entities reducer tests', () => {
         })
       ).toEqual({
         ...initialState,
+        links,
         loading: false,
+        totalItems: payload.headers['x-total-count'],
         entities: payload.data
       });
     });
 
+    it('should replace the searched entities', () => {
+      const payload = { data: [{ id: 1 }] };
+      const state = { ...initialState, searchResults: [{ id: 2 }] };
+      expect(
+        reducer(state, {
+          type: SUCCESS(ACTION_TYPES.SEARCH_PETS),
+          payload
+        })
+      ).toEqual({
+        ...initialState,
+        searchResults: payload.data
+      });
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -202,6 +226,19 @@ describe('Entities reducer tests', () => {
       await store.dispatch(getEntities()).then(() => expect(store.getActions()).toEqual(expectedActions));
     });
 
+    it('dispatches ACTION_TYPES.SEARCH_PETS actions', async () => {
+      const expectedActions = [
+        {
+          type: REQUEST(ACTION_TYPES.SEARCH_PETS)
+        },
+        {
+          type: SUCCESS(ACTION_TYPES.SEARCH_PETS),
+          payload: resolvedObject
+        }
+      ];
+      await store.dispatch(searchEntities('Leo', 20)).then(() => expect(store.getActions()).toEqual(expectedActions));
+    });
+
     it('dispatches ACTION_TYPES.FETCH_PET actions', async () => {
       const expectedActions = [
         {
@@ -223,13 +260,6 @@ describe('Entities reducer tests', () => {
         {
           type: SUCCESS(ACTION_TYPES.CREATE_PET),
           payload: resolvedObject
-        },
-        {
-          type: REQUEST(ACTION_TYPES.FETCH_PET_LIST)
-        },
-        {
-          type: SUCCESS(ACTION_TYPES.FETCH_PET_LIST),
-          payload: resolvedObject
         }
       ];
       await store.dispatch(createEntity({ id: 1 })).then(() => expect(store.getActions()).toEqual(expectedActions));